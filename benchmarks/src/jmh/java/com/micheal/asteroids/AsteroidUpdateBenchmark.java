@@ -0,0 +1,40 @@
+package com.micheal.asteroids;
+
+import com.badlogic.gdx.math.RandomXS128;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/** One tick of asteroid movement and screen wrapping. */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AsteroidUpdateBenchmark {
+
+    @Param({"10", "100", "1000", "10000", "50000"})
+    public int asteroids;
+
+    private AsteroidField field;
+
+    @Setup
+    public void setUp() {
+        RandomXS128 random = new RandomXS128(42);
+        field = new AsteroidField(Benchmarks.ASTEROID_RADIUS, asteroids);
+        for (int i = 0; i < asteroids; i++) {
+            field.spawn(random, Benchmarks.WORLD_WIDTH, Benchmarks.WORLD_HEIGHT);
+        }
+    }
+
+    @Benchmark
+    public AsteroidField update() {
+        field.update(Benchmarks.STEP, Benchmarks.WORLD_WIDTH, Benchmarks.WORLD_HEIGHT);
+        return field;
+    }
+}
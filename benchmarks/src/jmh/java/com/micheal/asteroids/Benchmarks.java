@@ -0,0 +1,15 @@
+package com.micheal.asteroids;
+
+/** Shared dimensions for the benchmarks, matching the desktop launcher and the default textures. */
+final class Benchmarks {
+
+    static final float WORLD_WIDTH = 1920f;
+    static final float WORLD_HEIGHT = 1080f;
+    static final float SHIP_RADIUS = 32f;
+    static final float ASTEROID_RADIUS = 32f;
+    static final float BULLET_RADIUS = 2f;
+    static final float STEP = 1f / 120f;
+
+    private Benchmarks() {
+    }
+}
@@ -0,0 +1,88 @@
+package com.micheal.asteroids;
+
+import com.badlogic.gdx.math.RandomXS128;
+import com.badlogic.gdx.utils.IntArray;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The bullet/asteroid collision pass from {@link World#step}, through the grid broadphase
+ * and against a brute-force pair test. Hits are counted rather than applied so every
+ * invocation sees the same scene. The grid should scale roughly linearly with the
+ * asteroid count; the pair test scales with asteroids times bullets.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CollisionBenchmark {
+
+    @Param({"10", "100", "1000", "10000"})
+    public int asteroids;
+
+    @Param({"100"})
+    public int bullets;
+
+    private AsteroidField asteroidField;
+    private BulletField bulletField;
+    private CollisionGrid grid;
+    private final IntArray candidates = new IntArray();
+
+    @Setup
+    public void setUp() {
+        RandomXS128 random = new RandomXS128(42);
+        asteroidField = new AsteroidField(Benchmarks.ASTEROID_RADIUS, asteroids);
+        for (int i = 0; i < asteroids; i++) {
+            asteroidField.spawn(random, Benchmarks.WORLD_WIDTH, Benchmarks.WORLD_HEIGHT);
+        }
+        bulletField = new BulletField(Benchmarks.BULLET_RADIUS, bullets);
+        for (int i = 0; i < bullets; i++) {
+            bulletField.fire(random.nextFloat() * Benchmarks.WORLD_WIDTH, random.nextFloat() * Benchmarks.WORLD_HEIGHT,
+                random.nextFloat() * 360f);
+        }
+        grid = new CollisionGrid(Benchmarks.ASTEROID_RADIUS * 2f);
+    }
+
+    @Benchmark
+    public int grid() {
+        grid.begin(Benchmarks.WORLD_WIDTH, Benchmarks.WORLD_HEIGHT);
+        for (int i = 0; i < asteroidField.size; i++) {
+            grid.insert(i, asteroidField.x[i], asteroidField.y[i]);
+        }
+        grid.finish(asteroidField.size);
+        int hits = 0;
+        for (int b = 0; b < bulletField.size; b++) {
+            float x = bulletField.x[b], y = bulletField.y[b], r = bulletField.radius[b];
+            grid.query(x, y, r + Benchmarks.ASTEROID_RADIUS, candidates);
+            for (int c = 0; c < candidates.size; c++) {
+                if (asteroidField.overlaps(candidates.get(c), x, y, r)) {
+                    hits++;
+                    break;
+                }
+            }
+        }
+        return hits;
+    }
+
+    @Benchmark
+    public int bruteForce() {
+        int hits = 0;
+        for (int b = 0; b < bulletField.size; b++) {
+            float x = bulletField.x[b], y = bulletField.y[b], r = bulletField.radius[b];
+            for (int a = 0; a < asteroidField.size; a++) {
+                if (asteroidField.overlaps(a, x, y, r)) {
+                    hits++;
+                    break;
+                }
+            }
+        }
+        return hits;
+    }
+}
@@ -0,0 +1,83 @@
+package com.micheal.asteroids;
+
+import com.badlogic.gdx.math.RandomXS128;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Asteroid movement with the structure-of-arrays {@link AsteroidField} against the old
+ * model of one heap object per asteroid held in an {@code ArrayList}. The objects are
+ * shuffled after creation, as they end up after a few waves of spawning and removal.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EntityLayoutBenchmark {
+
+    @Param({"1000", "10000", "50000"})
+    public int asteroids;
+
+    private AsteroidField field;
+    private List<ObjectAsteroid> objects;
+
+    @Setup
+    public void setUp() {
+        RandomXS128 random = new RandomXS128(42);
+        field = new AsteroidField(Benchmarks.ASTEROID_RADIUS, asteroids);
+        objects = new ArrayList<>(asteroids);
+        for (int i = 0; i < asteroids; i++) {
+            int index = field.spawn(random, Benchmarks.WORLD_WIDTH, Benchmarks.WORLD_HEIGHT);
+            objects.add(new ObjectAsteroid(field.x[index], field.y[index], field.vx[index], field.vy[index]));
+        }
+        Collections.shuffle(objects, random);
+    }
+
+    @Benchmark
+    public AsteroidField structureOfArrays() {
+        field.update(Benchmarks.STEP, Benchmarks.WORLD_WIDTH, Benchmarks.WORLD_HEIGHT);
+        return field;
+    }
+
+    @Benchmark
+    public List<ObjectAsteroid> objectPerEntity() {
+        for (ObjectAsteroid asteroid : objects) {
+            asteroid.update(Benchmarks.STEP, Benchmarks.WORLD_WIDTH, Benchmarks.WORLD_HEIGHT);
+        }
+        return objects;
+    }
+
+    /** The update logic of the original per-object Asteroid class, without the texture lookups. */
+    static final class ObjectAsteroid {
+        float x, y;
+        final float speedX, speedY;
+        final float size = Benchmarks.ASTEROID_RADIUS * 2f;
+
+        ObjectAsteroid(float x, float y, float speedX, float speedY) {
+            this.x = x;
+            this.y = y;
+            this.speedX = speedX;
+            this.speedY = speedY;
+        }
+
+        void update(float delta, float worldWidth, float worldHeight) {
+            x += speedX * delta;
+            y += speedY * delta;
+
+            if (x < -size) x = worldWidth;
+            if (x > worldWidth) x = -size;
+            if (y < -size) y = worldHeight;
+            if (y > worldHeight) y = -size;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.micheal.asteroids;
+
+import com.badlogic.gdx.math.RandomXS128;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The chunked part of a swarm tick: asteroid update and broadphase build, as {@link World}
+ * runs them through a {@link ChunkRunner}. {@code threads = 1} runs every chunk on the
+ * benchmark thread with no pool; larger counts use a fork-join pool of that size. The
+ * ratio to the one-thread score is the speed-up on this machine.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ParallelStepBenchmark {
+
+    private static final int CHUNK_SIZE = 1024;
+
+    @Param({"1", "2", "4", "8"})
+    public int threads;
+
+    @Param({"5000", "20000", "100000"})
+    public int asteroids;
+
+    private ForkJoinPool pool;
+    private ChunkRunner runner;
+    private AsteroidField asteroidField;
+    private CollisionGrid grid;
+
+    private final ChunkRunner.Job update = this::update;
+    private final ChunkRunner.Job insert = this::insert;
+
+    @Setup
+    public void setUp() {
+        pool = threads > 1 ? new ForkJoinPool(threads) : null;
+        runner = new ChunkRunner(pool, CHUNK_SIZE);
+        RandomXS128 random = new RandomXS128(42);
+        asteroidField = new AsteroidField(Benchmarks.ASTEROID_RADIUS, asteroids);
+        for (int i = 0; i < asteroids; i++) {
+            asteroidField.spawn(random, Benchmarks.WORLD_WIDTH, Benchmarks.WORLD_HEIGHT);
+        }
+        grid = new CollisionGrid(Benchmarks.ASTEROID_RADIUS * 2f);
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (pool != null) pool.shutdown();
+    }
+
+    private void update(int chunk, int from, int to) {
+        asteroidField.update(Benchmarks.STEP, Benchmarks.WORLD_WIDTH, Benchmarks.WORLD_HEIGHT, from, to);
+    }
+
+    private void insert(int chunk, int from, int to) {
+        for (int i = from; i < to; i++) grid.insert(i, asteroidField.x[i], asteroidField.y[i]);
+    }
+
+    @Benchmark
+    public CollisionGrid updateAndBroadphase() {
+        runner.run(update, asteroidField.size);
+        grid.begin(Benchmarks.WORLD_WIDTH, Benchmarks.WORLD_HEIGHT, asteroidField.size);
+        runner.run(insert, asteroidField.size);
+        grid.finish(asteroidField.size);
+        return grid;
+    }
+}
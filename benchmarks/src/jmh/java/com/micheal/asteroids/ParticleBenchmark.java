@@ -0,0 +1,73 @@
+package com.micheal.asteroids;
+
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A frame of the {@link ParticleSystem} with a full budget of live particles: the update,
+ * and the update plus writing every particle's sprite vertices, which is all the CPU work
+ * drawing does before the batch copies them. After each update the budget is topped up
+ * with fresh explosions, so every invocation sees the same count with particles dying and
+ * being emitted as in play. The whole frame should stay within a few milliseconds at
+ * 20,000 particles.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ParticleBenchmark {
+
+    private static final float FRAME = 1f / 60f;
+    private static final int CHUNK_SPRITES = 256;
+
+    @Param({"1000", "20000"})
+    public int particles;
+
+    private ParticleSystem system;
+    private final TextureRegion region = new TextureRegion();
+    private final float[] vertices = new float[CHUNK_SPRITES * 20];
+
+    @Setup
+    public void setUp() {
+        system = new ParticleSystem(particles, 42);
+        refill();
+    }
+
+    private void refill() {
+        while (system.size < particles) {
+            system.asteroidExplosion(Benchmarks.WORLD_WIDTH / 2f, Benchmarks.WORLD_HEIGHT / 2f);
+        }
+    }
+
+    @Benchmark
+    public ParticleSystem update() {
+        system.update(FRAME);
+        refill();
+        return system;
+    }
+
+    @Benchmark
+    public float[] updateAndWriteVertices() {
+        system.update(FRAME);
+        refill();
+        for (int from = 0; from < system.size; from += CHUNK_SPRITES) {
+            system.writeVertices(from, Math.min(system.size, from + CHUNK_SPRITES), region, vertices);
+        }
+        return vertices;
+    }
+
+    /** An explosion into a full budget, which is dropped without touching the arrays. */
+    @Benchmark
+    public ParticleSystem burstWhenFull() {
+        system.asteroidExplosion(Benchmarks.WORLD_WIDTH / 2f, Benchmarks.WORLD_HEIGHT / 2f);
+        return system;
+    }
+}
@@ -0,0 +1,146 @@
+package com.micheal.asteroids;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs each {@link SensorFilter} over a sensor trace, as the reader thread would. The trace
+ * is a recording made with {@code -Dasteroids.filter=none} when {@code -Dasteroids.trace=<file>}
+ * is set, and otherwise a generated 10 s sweep at 200 Hz with sensor noise.
+ *
+ * {@link #main} reports filter quality on the generated sweep, where the true orientation
+ * is known: the error of the orientation extrapolated one 60 Hz frame ahead, and the
+ * jitter left while the sensor is held still.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SensorFilterBenchmark {
+
+    private static final int RATE_HZ = 200;
+    private static final int SAMPLES = RATE_HZ * 10;
+    private static final long STEP_NANOS = 1_000_000_000L / RATE_HZ;
+    private static final long FRAME_NANOS = 1_000_000_000L / 60;
+
+    @Param({"none", "oneEuro", "complementary", "predictor"})
+    public String filter;
+
+    private SensorSample[] trace;
+    private SensorFilter sensorFilter;
+    private final SensorSample work = new SensorSample();
+
+    @Setup
+    public void setUp() {
+        String file = System.getProperty("asteroids.trace");
+        trace = file != null ? readRecording(file) : sweep(new Random(42), true);
+        sensorFilter = SensorSources.filter(filter);
+    }
+
+    @Benchmark
+    public float filterTrace() {
+        float sum = 0;
+        for (SensorSample sample : trace) {
+            work.set(sample);
+            sensorFilter.apply(work);
+            sum += work.roll;
+        }
+        return sum;
+    }
+
+    /** True roll at time {@code t} seconds: still, then a slow tilt, then fast side to side. */
+    private static float trueRoll(double t) {
+        if (t < 2) return 0;
+        if (t < 5) return (float) (30 * Math.sin((t - 2) * Math.PI / 3));
+        return (float) (40 * Math.sin((t - 5) * 2 * Math.PI * 1.5));
+    }
+
+    private static float trueRollRate(double t) {
+        if (t < 2) return 0;
+        if (t < 5) return (float) (30 * Math.PI / 3 * Math.cos((t - 2) * Math.PI / 3));
+        return (float) (40 * 2 * Math.PI * 1.5 * Math.cos((t - 5) * 2 * Math.PI * 1.5));
+    }
+
+    /** Generated readings with angle noise and, if {@code gyro} is set, noisy gyro rates as in binary frames. */
+    static SensorSample[] sweep(Random random, boolean gyro) {
+        SensorSample[] samples = new SensorSample[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            double t = i / (double) RATE_HZ;
+            SensorSample sample = new SensorSample();
+            sample.set(trueRoll(t) + (float) random.nextGaussian() * 0.8f,
+                (float) random.nextGaussian() * 0.8f, 0, i * STEP_NANOS);
+            if (gyro) {
+                sample.setRates(trueRollRate(t) + (float) random.nextGaussian() * 2f,
+                    (float) random.nextGaussian() * 2f, 0);
+                sample.gyro = true;
+            }
+            samples[i] = sample;
+        }
+        return samples;
+    }
+
+    private static SensorSample[] readRecording(String file) {
+        ByteBuffer data;
+        try {
+            data = ByteBuffer.wrap(Files.readAllBytes(Paths.get(file)));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (data.getInt() != SensorRecording.MAGIC || data.getInt() != SensorRecording.VERSION) {
+            throw new IllegalArgumentException("Not a version " + SensorRecording.VERSION + " sensor recording: " + file);
+        }
+        SensorSample[] samples = new SensorSample[data.remaining() / SensorRecording.RECORD_BYTES];
+        for (int i = 0; i < samples.length; i++) {
+            samples[i] = new SensorSample();
+            long nanos = data.getLong();
+            samples[i].set(data.getFloat(), data.getFloat(), data.getFloat(), nanos);
+            samples[i].setRates(data.getFloat(), data.getFloat(), data.getFloat());
+            samples[i].gyro = data.get() != 0;
+        }
+        return samples;
+    }
+
+    /** Prints prediction error and resting jitter for every filter, with and without gyro rates. */
+    public static void main(String[] args) {
+        for (boolean gyro : new boolean[] {false, true}) {
+            SensorSample[] trace = sweep(new Random(42), gyro);
+            System.out.println(gyro ? "Binary frames (gyro rates):" : "Text lines (no gyro):");
+            for (String name : new String[] {"none", "oneEuro", "complementary", "predictor"}) {
+                SensorFilter filter = SensorSources.filter(name);
+                SensorSample work = new SensorSample();
+                double errorSquares = 0, jitterSquares = 0;
+                int moving = 0, still = 0;
+                for (SensorSample sample : trace) {
+                    work.set(sample);
+                    filter.apply(work);
+                    work.extrapolate(work.nanos + FRAME_NANOS, FRAME_NANOS);
+                    double t = work.nanos / 1e9;
+                    float error = work.roll - trueRoll(t);
+                    if (t < 2) {
+                        jitterSquares += error * error;
+                        still++;
+                    } else {
+                        errorSquares += error * error;
+                        moving++;
+                    }
+                }
+                System.out.println(String.format(Locale.ROOT, "  %-14s predicted error %6.2f deg rms, resting jitter %5.2f deg rms",
+                    name, Math.sqrt(errorSquares / moving), Math.sqrt(jitterSquares / still)));
+            }
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.micheal.asteroids;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decoding the same generated samples as {@link SensorFrame binary frames} and as
+ * {@code roll/pitch/yaw} text lines, both through the {@link SensorStreamDecoder} the
+ * reader uses. The byte counts show the link bandwidth saved; the times show the decode
+ * cost per sample. {@code corruption} flips a byte in that fraction of frames to measure
+ * the resync path.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SensorFrameBenchmark {
+
+    private static final int READ_SIZE = 64;
+    private static final int SAMPLES = 1000;
+
+    @Param({"0", "0.01"})
+    public double corruption;
+
+    private byte[] frames;
+    private byte[] lines;
+    private SensorStreamDecoder decoder;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        frames = new byte[SAMPLES * SensorFrame.LENGTH];
+        StringBuilder text = new StringBuilder();
+        short[] accel = new short[3];
+        short[] gyro = new short[3];
+        for (int i = 0; i < SAMPLES; i++) {
+            float roll = random.nextFloat() * 180f - 90f;
+            float pitch = random.nextFloat() * 180f - 90f;
+            float yaw = random.nextFloat() * 360f - 180f;
+            for (int axis = 0; axis < 3; axis++) {
+                accel[axis] = (short) random.nextInt(1 << 16);
+                gyro[axis] = (short) random.nextInt(1 << 16);
+            }
+            SensorFrame.encode(frames, i * SensorFrame.LENGTH, roll, pitch, yaw, accel, gyro, i);
+            if (random.nextDouble() < corruption) frames[i * SensorFrame.LENGTH + 1 + random.nextInt(19)] ^= 0x5A;
+            text.append(String.format(Locale.ROOT, "%.2f/%.2f/%.2f\r\n", roll, pitch, yaw));
+        }
+        lines = text.toString().getBytes(StandardCharsets.US_ASCII);
+        decoder = new SensorStreamDecoder();
+    }
+
+    @Benchmark
+    public int binaryFrames() {
+        return decode(frames);
+    }
+
+    @Benchmark
+    public int textLines() {
+        return decode(lines);
+    }
+
+    private int decode(byte[] stream) {
+        int samples = 0;
+        for (int offset = 0; offset < stream.length; offset += READ_SIZE) {
+            for (int i = offset, end = Math.min(offset + READ_SIZE, stream.length); i < end; i++) {
+                if (decoder.accept(stream[i])) samples++;
+            }
+        }
+        return samples;
+    }
+}
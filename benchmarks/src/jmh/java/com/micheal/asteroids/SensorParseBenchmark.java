@@ -0,0 +1,75 @@
+package com.micheal.asteroids;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Random;
+import java.util.Scanner;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing a recorded MPU6050 byte stream of {@code roll/pitch/yaw} lines, delivered in
+ * serial-sized reads. {@code byteParser} is the {@link SensorLineParser} used by the
+ * reader; {@code scannerSplit} is the previous Scanner + String.split + parseFloat path.
+ * Compare {@code gc.alloc.rate.norm} as well as the time.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SensorParseBenchmark {
+
+    // Typical number of bytes a semi-blocking serial read returns at 115200 baud
+    private static final int READ_SIZE = 64;
+
+    @Param({"1", "100", "1000"})
+    public int lines;
+
+    private byte[] stream;
+    private SensorLineParser parser;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        StringBuilder recording = new StringBuilder();
+        for (int i = 0; i < lines; i++) {
+            recording.append(String.format(Locale.ROOT, "%.2f/%.2f/%.2f\r\n",
+                random.nextFloat() * 180f - 90f, random.nextFloat() * 180f - 90f, random.nextFloat() * 360f - 180f));
+        }
+        stream = recording.toString().getBytes(StandardCharsets.US_ASCII);
+        parser = new SensorLineParser();
+    }
+
+    @Benchmark
+    public float byteParser() {
+        for (int offset = 0; offset < stream.length; offset += READ_SIZE) {
+            parser.accept(stream, offset, Math.min(READ_SIZE, stream.length - offset));
+        }
+        return parser.roll();
+    }
+
+    @Benchmark
+    public float scannerSplit() {
+        float roll = 0;
+        InputStream in = new ByteArrayInputStream(stream);
+        Scanner scanner = new Scanner(in);
+        while (scanner.hasNextLine()) {
+            String[] parts = scanner.nextLine().trim().split("/");
+            if (parts.length == 3) {
+                roll = Float.parseFloat(parts[0]);
+                Float.parseFloat(parts[1]);
+                Float.parseFloat(parts[2]);
+            }
+        }
+        return roll;
+    }
+}
@@ -0,0 +1,82 @@
+package com.micheal.asteroids;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cold start time of the desktop game: from launching the process until it has loaded its
+ * assets and logged that it is interactive. Measured for a plain JVM, a JVM mapping the
+ * AppCDS archive and the native image, whichever have been built. Each sample is a fresh
+ * process, so this is a plain main method rather than a JMH benchmark; run it with
+ * {@code ./gradlew :benchmarks:startupBenchmark} on Linux with a display.
+ *
+ * Arguments: game jar, CDS archive, native executable and the assets directory to run in.
+ */
+public class StartupBenchmark {
+
+    private static final int RUNS = Integer.getInteger("asteroids.startupRuns", 5);
+    private static final String INTERACTIVE = "Interactive";
+    private static final long TIMEOUT_SECONDS = 60;
+
+    public static void main(String[] args) throws Exception {
+        File jar = new File(args[0]);
+        File archive = new File(args[1]);
+        File nativeImage = new File(args[2]);
+        File workingDir = new File(args[3]);
+        String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+
+        if (jar.isFile()) {
+            report("jvm", workingDir, java, "-jar", jar.getPath());
+        } else {
+            System.out.println("jvm: skipped, " + jar + " not built");
+        }
+        if (jar.isFile() && archive.isFile()) {
+            report("jvm+cds", workingDir, java, "-XX:SharedArchiveFile=" + archive.getPath(), "-jar", jar.getPath());
+        } else {
+            System.out.println("jvm+cds: skipped, run :lwjgl3:cdsArchive first");
+        }
+        if (nativeImage.canExecute()) {
+            report("native", workingDir, nativeImage.getPath());
+        } else {
+            System.out.println("native: skipped, build with enableGraalNative=true and :lwjgl3:nativeCompile");
+        }
+    }
+
+    private static void report(String name, File workingDir, String... command) throws Exception {
+        launch(workingDir, command); // Warms the file cache so every variant starts from the same state
+        long[] millis = new long[RUNS];
+        for (int i = 0; i < RUNS; i++) millis[i] = launch(workingDir, command);
+        Arrays.sort(millis);
+        System.out.println(name + ": median " + millis[RUNS / 2] + " ms, min " + millis[0] + " ms, max "
+            + millis[RUNS - 1] + " ms over " + RUNS + " launches");
+    }
+
+    /** Runs the game until it reports being interactive and returns how long that took in milliseconds. */
+    private static long launch(File workingDir, String... command) throws IOException, InterruptedException {
+        List<String> arguments = new ArrayList<>(Arrays.asList(command));
+        // System properties go before -jar, or at the end for a native executable
+        int at = arguments.indexOf("-jar");
+        arguments.addAll(at < 0 ? arguments.size() : at,
+            Arrays.asList("-Dasteroids.exitAfterFrames=1", "-Dasteroids.eventLog="));
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(arguments).directory(workingDir).redirectErrorStream(true).start();
+        long interactive = -1;
+        try (BufferedReader output = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = output.readLine()) != null) {
+                if (interactive < 0 && line.contains(INTERACTIVE)) interactive = System.nanoTime() - start;
+            }
+        }
+        if (!process.waitFor(TIMEOUT_SECONDS, TimeUnit.SECONDS)) process.destroyForcibly();
+        if (interactive < 0) throw new IllegalStateException("Game exited without becoming interactive: " + arguments);
+        return interactive / 1_000_000L;
+    }
+}
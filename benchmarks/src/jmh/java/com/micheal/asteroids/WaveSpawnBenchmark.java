@@ -0,0 +1,72 @@
+package com.micheal.asteroids;
+
+import com.badlogic.gdx.math.RandomXS128;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Spawning a whole wave into an asteroid field that has already grown to size: all at once
+ * with random placement, all at once from the {@link WaveSpawner} table, and the spawner's
+ * per-tick share, which is what a frame actually pays while a wave comes in.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class WaveSpawnBenchmark {
+
+    private static final int SPAWN_PER_TICK = 16;
+
+    @Param({"10", "100", "1000", "10000"})
+    public int asteroids;
+
+    private AsteroidField field;
+    private RandomXS128 random;
+    private WaveSpawner spawner;
+    private Ship[] ships;
+
+    @Setup
+    public void setUp() {
+        random = new RandomXS128(42);
+        field = new AsteroidField(Benchmarks.ASTEROID_RADIUS, asteroids);
+        spawner = new WaveSpawner(new RandomXS128(42), SPAWN_PER_TICK, Benchmarks.SHIP_RADIUS * 6f);
+        Ship ship = new Ship(Benchmarks.SHIP_RADIUS);
+        ship.respawn(Benchmarks.WORLD_WIDTH / 2f, Benchmarks.WORLD_HEIGHT / 2f);
+        ships = new Ship[] {ship};
+    }
+
+    @Benchmark
+    public AsteroidField spawnWave() {
+        field.clear();
+        for (int i = 0; i < asteroids; i++) {
+            field.spawn(random, Benchmarks.WORLD_WIDTH, Benchmarks.WORLD_HEIGHT);
+        }
+        return field;
+    }
+
+    @Benchmark
+    public AsteroidField spawnWaveFromTable() {
+        field.clear();
+        spawner.startWave(asteroids);
+        spawner.spawnAll(field, ships, Benchmarks.WORLD_WIDTH, Benchmarks.WORLD_HEIGHT);
+        return field;
+    }
+
+    /** One tick of an incremental wave: at most {@code SPAWN_PER_TICK} asteroids whatever the wave size. */
+    @Benchmark
+    public AsteroidField spawnTick() {
+        if (spawner.isIdle()) {
+            field.clear();
+            spawner.startWave(asteroids);
+        }
+        spawner.spawn(field, ships, Benchmarks.WORLD_WIDTH, Benchmarks.WORLD_HEIGHT);
+        return field;
+    }
+}
@@ -0,0 +1,63 @@
+package com.micheal.asteroids;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A full simulation tick with every ship turning and firing into a field of
+ * {@code asteroids} asteroids. Lives are unlimited and destroyed asteroids are replaced
+ * before each tick, so every invocation steps a game in progress at the same load rather
+ * than a finished one. With the GC profiler, {@code gc.alloc.rate.norm} is the bytes
+ * allocated per tick and should stay at zero once the entity arrays have grown.
+ * {@code players} shows what each extra controller costs.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class WorldStepBenchmark {
+
+    @Param({"1", "4"})
+    public int players;
+
+    @Param({"100", "1000", "10000"})
+    public int asteroids;
+
+    private World world;
+    private PlayerInput[] inputs;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        world = new World(42, players, Benchmarks.WORLD_WIDTH, Benchmarks.WORLD_HEIGHT,
+            Benchmarks.SHIP_RADIUS, Benchmarks.ASTEROID_RADIUS, Benchmarks.BULLET_RADIUS);
+        world.setUnlimitedLives(true);
+        topUp();
+        inputs = new PlayerInput[players];
+        for (int p = 0; p < players; p++) {
+            inputs[p] = new PlayerInput();
+            inputs[p].turn = 1f;
+            inputs[p].fire = true;
+        }
+    }
+
+    /** Replaces destroyed asteroids, a handful per tick, into arrays that have already grown. */
+    private void topUp() {
+        int missing = asteroids - world.getAsteroids().size;
+        if (missing > 0) world.addAsteroids(missing);
+    }
+
+    @Benchmark
+    public World step() {
+        topUp();
+        world.step(inputs, Benchmarks.STEP);
+        return world;
+    }
+}
@@ -0,0 +1,94 @@
+package com.micheal.asteroids;
+
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.RandomXS128;
+
+/**
+ * All live asteroids, stored as parallel arrays. Asteroids wrap around the screen edges.
+ *
+ * Asteroids spawned with {@code fadeIn} fade in over {@link #FADE_TIME} seconds and are not
+ * {@link #isSolid solid} until they are fully visible, so a new wave never hits a player
+ * before it can be seen.
+ */
+public class AsteroidField extends EntityStore {
+
+    public static final float FADE_TIME = 0.5f;
+
+    private final float asteroidRadius;
+    // Opacity from 0 when spawned to 1 when solid
+    public float[] fade;
+
+    public AsteroidField(float asteroidRadius, int capacity) {
+        super(capacity);
+        this.asteroidRadius = asteroidRadius;
+        fade = new float[x.length];
+    }
+
+    @Override
+    public int add(float x, float y, float vx, float vy, float radius) {
+        int i = super.add(x, y, vx, vy, radius);
+        fade[i] = 1f;
+        return i;
+    }
+
+    /** Adds an asteroid centred on (x, y), optionally fading in before it can collide. */
+    public int spawn(float x, float y, float vx, float vy, boolean fadeIn) {
+        int i = add(x, y, vx, vy, asteroidRadius);
+        if (fadeIn) fade[i] = 0f;
+        return i;
+    }
+
+    /** True once asteroid {@code i} has fully faded in and takes part in collisions. */
+    public boolean isSolid(int i) {
+        return fade[i] >= 1f;
+    }
+
+    /** Adds an asteroid somewhere on screen with a random heading and speed. */
+    public int spawn(RandomXS128 random, float worldWidth, float worldHeight) {
+        float angle = random.nextFloat() * 360f;
+        float speed = 100f + random.nextFloat() * 100f;
+        return add(
+            random.nextFloat() * worldWidth + asteroidRadius,
+            random.nextFloat() * worldHeight + asteroidRadius,
+            MathUtils.cosDeg(angle) * speed,
+            MathUtils.sinDeg(angle) * speed,
+            asteroidRadius);
+    }
+
+    public void update(float delta, float worldWidth, float worldHeight) {
+        update(delta, worldWidth, worldHeight, 0, size);
+    }
+
+    /** Updates asteroids {@code from} up to {@code to}. Disjoint ranges may be updated from different threads. */
+    public void update(float delta, float worldWidth, float worldHeight, int from, int to) {
+        move(delta, from, to);
+
+        float[] fade = this.fade;
+        float fadeStep = delta / FADE_TIME;
+        for (int i = from; i < to; i++) {
+            if (fade[i] < 1f) fade[i] = Math.min(1f, fade[i] + fadeStep);
+        }
+
+        // Once an asteroid is fully off one edge it reappears just beyond the opposite one
+        float[] x = this.x, y = this.y, radius = this.radius;
+        for (int i = from; i < to; i++) {
+            float r = radius[i];
+            if (x[i] < -r) x[i] = worldWidth + r;
+            else if (x[i] > worldWidth + r) x[i] = -r;
+            if (y[i] < -r) y[i] = worldHeight + r;
+            else if (y[i] > worldHeight + r) y[i] = -r;
+        }
+    }
+
+    @Override
+    protected void copy(int from, int to) {
+        super.copy(from, to);
+        fade[to] = fade[from];
+    }
+
+    @Override
+    protected void grow(int capacity) {
+        super.grow(capacity);
+        fade = resize(fade, capacity);
+    }
+}
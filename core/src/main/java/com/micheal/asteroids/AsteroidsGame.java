@@ -1,11 +1,164 @@
 package com.micheal.asteroids;
 
 import com.badlogic.gdx.Game;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Screen;
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.utils.viewport.FitViewport;
+import com.badlogic.gdx.utils.viewport.Viewport;
 
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Owns everything that should outlive a single screen: the sprite batch, the atlas and
+ * font, and the sensor connections. Screens borrow these instead of creating their own,
+ * so moving between menu, game and game over reloads nothing and reopens no ports.
+ *
+ * Every screen draws in fixed world units, {@link #WORLD_WIDTH} by {@link #WORLD_HEIGHT},
+ * fitted to the window with letterboxing, so the playfield is the same at any window size.
+ */
 public class AsteroidsGame extends Game {
 
+    public static final String ATLAS = "game.atlas";
+    public static final float WORLD_WIDTH = 1920f;
+    public static final float WORLD_HEIGHT = 1080f;
+
+    // Scripted runs (startup benchmarks, CDS training) quit after this many frames once loaded; 0 runs normally
+    private static final int EXIT_AFTER_FRAMES = Integer.getInteger("asteroids.exitAfterFrames", 0);
+    private int loadedFrames;
+
+    private SpriteBatch batch;
+    private final OrthographicCamera camera = new OrthographicCamera();
+    private final Viewport viewport = new FitViewport(WORLD_WIDTH, WORLD_HEIGHT, camera);
+    private RenderTarget renderTarget;
+    private AssetManager assets;
+    private TextureAtlas atlas;
+    private BitmapFont font;
+    private SensorSource[] sensors;
+    private ForkJoinPool workers;
+    private EventLog events;
+    // Explosion and thrust particles, allocated once at the budget given by asteroids.particles
+    private final ParticleSystem particles =
+        new ParticleSystem(Integer.getInteger("asteroids.particles", 20000), System.nanoTime());
+
+    // Collected across every game played and written out when the application exits
+    private final InputLatency inputLatency = new InputLatency();
+
     @Override
     public void create() {
-        setScreen(new MainMenuScreen(this));
+        batch = new SpriteBatch();
+        renderTarget = new RenderTarget(viewport, ResolutionScaler.fromSystemProperties());
+        assets = new AssetManager();
+        events = EventLog.fromSystemProperties();
+        setScreen(new LoadingScreen(this));
+    }
+
+    /** Called by {@link LoadingScreen} once the asset manager has finished loading. */
+    void assetsLoaded() {
+        atlas = assets.get(ATLAS, TextureAtlas.class);
+        // libGDX's default font, with its page packed into the atlas
+        font = new BitmapFont(Gdx.files.classpath("com/badlogic/gdx/utils/lsans-15.fnt"), atlas.findRegion("lsans-15"));
+    }
+
+    @Override
+    public void resize(int width, int height) {
+        renderTarget.resize(width, height);
+        batch.setProjectionMatrix(camera.combined);
+        super.resize(width, height);
+    }
+
+    @Override
+    public void render() {
+        super.render();
+        if (EXIT_AFTER_FRAMES > 0 && atlas != null && ++loadedFrames == EXIT_AFTER_FRAMES) Gdx.app.exit();
+    }
+
+    /** Switches screens and disposes the previous one, which only holds per-screen state. */
+    @Override
+    public void setScreen(Screen screen) {
+        Screen previous = getScreen();
+        super.setScreen(screen);
+        if (previous != null) previous.dispose();
+    }
+
+    public SpriteBatch getBatch() {
+        return batch;
+    }
+
+    public Viewport getViewport() {
+        return viewport;
+    }
+
+    /** Offscreen buffer the game is drawn into at a resolution scaled to hold the frame rate. */
+    public RenderTarget getRenderTarget() {
+        return renderTarget;
+    }
+
+    public AssetManager getAssets() {
+        return assets;
+    }
+
+    public TextureAtlas getAtlas() {
+        return atlas;
+    }
+
+    public BitmapFont getFont() {
+        return font;
+    }
+
+    /** One sensor per player, opened the first time a game needs them and kept open until exit. */
+    public SensorSource[] getSensors() {
+        if (sensors == null) sensors = SensorSources.fromSystemProperties(events);
+        return sensors;
+    }
+
+    /** Plays with {@code sensors} instead of the ones chosen by system properties, for example an autopilot. */
+    public void setSensors(SensorSource[] sensors) {
+        this.sensors = sensors;
+    }
+
+    /**
+     * Threads for the parallel parts of the simulation, {@code asteroids.threads} of them
+     * (default one per core), or null when that is one and everything runs on the render thread.
+     */
+    public ForkJoinPool getWorkers() {
+        int threads = Integer.getInteger("asteroids.threads", Runtime.getRuntime().availableProcessors());
+        if (workers == null && threads > 1) workers = new ForkJoinPool(threads);
+        return workers;
+    }
+
+    /** Game and sensor events, written to a log file in the background. */
+    public EventLog getEvents() {
+        return events;
+    }
+
+    public ParticleSystem getParticles() {
+        return particles;
+    }
+
+    public InputLatency getInputLatency() {
+        return inputLatency;
+    }
+
+    @Override
+    public void dispose() {
+        super.dispose();
+        if (getScreen() != null) getScreen().dispose();
+        if (sensors != null) {
+            for (SensorSource sensor : sensors) sensor.close();
+        }
+        if (workers != null) workers.shutdown();
+        events.close(); // After the sensors, so their last errors are written
+        if (font != null) font.dispose();
+        assets.dispose(); // Also disposes the atlas and its page texture
+        renderTarget.dispose();
+        batch.dispose();
+        if (inputLatency.sensorToInput.count() > 0) {
+            inputLatency.writeReport(Gdx.files.local("input-latency.txt"));
+        }
     }
 }
@@ -0,0 +1,59 @@
+package com.micheal.asteroids;
+
+/**
+ * Base for filters that treat roll, pitch and yaw independently. Works out the time step
+ * between samples and hands each axis to {@link #filter}.
+ *
+ * Several readings often arrive in one serial read and share a timestamp. Those are
+ * spaced by the last real interval rather than treated as simultaneous.
+ */
+abstract class AxisFilter implements SensorFilter {
+
+    // Assumed interval until two readings with distinct timestamps have been seen
+    private static final float DEFAULT_DT = 0.01f;
+
+    // Estimated angle and rate per axis: 0 roll, 1 pitch, 2 yaw
+    protected final float[] value = new float[3];
+    protected final float[] rate = new float[3];
+    protected boolean started;
+
+    private long lastNanos;
+    private float lastDt = DEFAULT_DT;
+
+    @Override
+    public void apply(SensorSample sample) {
+        float dt = lastDt;
+        if (started && sample.nanos > lastNanos) {
+            dt = (sample.nanos - lastNanos) / 1e9f;
+            lastDt = dt;
+        }
+        lastNanos = sample.nanos;
+
+        advance(dt);
+        filter(0, sample.roll, sample.rollRate, sample.gyro, dt);
+        filter(1, sample.pitch, sample.pitchRate, sample.gyro, dt);
+        filter(2, sample.yaw, sample.yawRate, sample.gyro, dt);
+        started = true;
+
+        sample.roll = value[0];
+        sample.pitch = value[1];
+        sample.yaw = value[2];
+        sample.setRates(rate[0], rate[1], rate[2]);
+    }
+
+    /** Called once per sample before its axes are filtered. */
+    protected void advance(float dt) {
+    }
+
+    /**
+     * Updates {@code value[axis]} and {@code rate[axis]} from a reading. {@code measuredRate}
+     * is only meaningful when {@code gyro} is set. {@link #started} is false for the first reading.
+     */
+    protected abstract void filter(int axis, float measured, float measuredRate, boolean gyro, float dt);
+
+    /** Exponential smoothing factor for a low-pass filter with the given cutoff frequency. */
+    static float smoothing(float dt, float cutoffHz) {
+        float tau = 1f / (2f * (float) Math.PI * cutoffHz);
+        return 1f / (1f + tau / dt);
+    }
+}
@@ -0,0 +1,60 @@
+package com.micheal.asteroids;
+
+import com.badlogic.gdx.math.MathUtils;
+
+/**
+ * All live bullets, stored as parallel arrays. Bullets die when they leave the screen.
+ * Each bullet remembers the player that fired it, so kills can be scored per player.
+ */
+public class BulletField extends EntityStore {
+
+    public static final float SPEED = 500f;
+
+    private final float bulletRadius;
+    public int[] owner;
+
+    public BulletField(float bulletRadius, int capacity) {
+        super(capacity);
+        this.bulletRadius = bulletRadius;
+        owner = new int[x.length];
+    }
+
+    /** Fires a bullet centred on (x, y) in the direction the ship is facing. */
+    public int fire(float x, float y, float angle) {
+        return fire(x, y, angle, 0);
+    }
+
+    /** Fires a bullet for player {@code owner}. */
+    public int fire(float x, float y, float angle, int owner) {
+        float radians = (angle + 90) * MathUtils.degreesToRadians;
+        int i = add(x, y, MathUtils.cos(radians) * SPEED, MathUtils.sin(radians) * SPEED, bulletRadius);
+        this.owner[i] = owner;
+        return i;
+    }
+
+    public void update(float delta, float worldWidth, float worldHeight) {
+        move(delta);
+
+        float[] x = this.x, y = this.y, radius = this.radius;
+        for (int i = 0, n = size; i < n; i++) {
+            float r = radius[i];
+            if (x[i] < -r || x[i] > worldWidth + r || y[i] < -r || y[i] > worldHeight + r) {
+                kill(i);
+            }
+        }
+    }
+
+    @Override
+    protected void copy(int from, int to) {
+        super.copy(from, to);
+        owner[to] = owner[from];
+    }
+
+    @Override
+    protected void grow(int capacity) {
+        super.grow(capacity);
+        int[] grown = new int[capacity];
+        System.arraycopy(owner, 0, grown, 0, owner.length);
+        owner = grown;
+    }
+}
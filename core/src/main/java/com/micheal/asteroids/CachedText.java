@@ -0,0 +1,66 @@
+package com.micheal.asteroids;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.BitmapFontCache;
+import com.badlogic.gdx.graphics.g2d.GlyphLayout;
+
+/**
+ * A line of text whose glyph vertices are kept in a {@link BitmapFontCache} and only laid
+ * out again when the text changes. Each frame the caller writes the text into the builder
+ * from {@link #text()}, which is a few appends with no boxing or allocation; if it comes
+ * out the same as last frame, {@link #draw} reuses the cached vertices.
+ */
+public class CachedText {
+
+    private final BitmapFontCache cache;
+    private final GlyphLayout layout = new GlyphLayout();
+    private final StringBuilder text = new StringBuilder();
+    // What the cache currently holds, and where
+    private final StringBuilder laidOut = new StringBuilder();
+    private float x, y;
+    private boolean valid;
+    private Color color;
+
+    public CachedText(BitmapFont font) {
+        cache = font.newFontCache();
+    }
+
+    /** Tints the text, instead of using the font's colour at the time it is laid out. */
+    public CachedText setColor(Color color) {
+        this.color = color;
+        valid = false;
+        return this;
+    }
+
+    /** Clears the text and returns the builder to write this frame's text into. */
+    public StringBuilder text() {
+        text.setLength(0);
+        return text;
+    }
+
+    /** Draws the text with its top-left at (x, y), laying it out first if it changed. */
+    public void draw(Batch batch, float x, float y) {
+        if (!valid || x != this.x || y != this.y || !unchanged()) {
+            layout.setText(cache.getFont(), text);
+            cache.setText(layout, x, y);
+            if (color != null) cache.setColors(color);
+            laidOut.setLength(0);
+            laidOut.append(text);
+            this.x = x;
+            this.y = y;
+            valid = true;
+        }
+        cache.draw(batch);
+    }
+
+    private boolean unchanged() {
+        int length = text.length();
+        if (length != laidOut.length()) return false;
+        for (int i = 0; i < length; i++) {
+            if (text.charAt(i) != laidOut.charAt(i)) return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,86 @@
+package com.micheal.asteroids;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Splits an index range into fixed-size chunks and runs a job on each, across a
+ * {@link ForkJoinPool} or on the calling thread when there is no pool or only one chunk.
+ * Chunk boundaries depend only on the chunk size, never on the number of threads, so
+ * jobs that write per-chunk results produce the same output however many threads run them.
+ *
+ * Tasks are preallocated and reused, so running a job allocates nothing once the task
+ * array has grown to the largest chunk count seen.
+ */
+public class ChunkRunner {
+
+    /** Work over {@code [from, to)}, the {@code chunk}th chunk of the range. */
+    public interface Job {
+        void run(int chunk, int from, int to);
+    }
+
+    private final ForkJoinPool pool;
+    private final int chunkSize;
+    private ChunkTask[] tasks = new ChunkTask[0];
+    private final RootTask root = new RootTask();
+
+    /** Creates a runner that uses {@code pool}, or runs everything inline if it is null. */
+    public ChunkRunner(ForkJoinPool pool, int chunkSize) {
+        if (chunkSize < 1) throw new IllegalArgumentException("chunkSize must be positive: " + chunkSize);
+        this.pool = pool;
+        this.chunkSize = chunkSize;
+    }
+
+    /** Number of chunks a range of {@code count} indices splits into. */
+    public int chunks(int count) {
+        return (count + chunkSize - 1) / chunkSize;
+    }
+
+    /** Runs {@code job} over every chunk of {@code [0, count)} and returns when all have finished. */
+    public void run(Job job, int count) {
+        int chunks = chunks(count);
+        if (pool == null || chunks <= 1) {
+            for (int c = 0; c < chunks; c++) job.run(c, c * chunkSize, Math.min(count, (c + 1) * chunkSize));
+            return;
+        }
+
+        if (tasks.length < chunks) {
+            ChunkTask[] grown = new ChunkTask[chunks];
+            System.arraycopy(tasks, 0, grown, 0, tasks.length);
+            for (int c = tasks.length; c < chunks; c++) grown[c] = new ChunkTask();
+            tasks = grown;
+        }
+        for (int c = 0; c < chunks; c++) {
+            ChunkTask task = tasks[c];
+            task.reinitialize();
+            task.job = job;
+            task.chunk = c;
+            task.from = c * chunkSize;
+            task.to = Math.min(count, (c + 1) * chunkSize);
+        }
+        root.reinitialize();
+        root.chunks = chunks;
+        pool.invoke(root);
+    }
+
+    private final class RootTask extends RecursiveAction {
+        int chunks;
+
+        @Override
+        protected void compute() {
+            for (int c = 1; c < chunks; c++) tasks[c].fork();
+            tasks[0].compute();
+            for (int c = 1; c < chunks; c++) tasks[c].join();
+        }
+    }
+
+    private static final class ChunkTask extends RecursiveAction {
+        Job job;
+        int chunk, from, to;
+
+        @Override
+        protected void compute() {
+            job.run(chunk, from, to);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.micheal.asteroids;
+
+import com.badlogic.gdx.utils.IntArray;
+
+/**
+ * Uniform grid broadphase. Entities are bucketed by their centre once per tick and
+ * queries only visit the cells a circle can reach, so a collision pass costs roughly
+ * O(N + M) instead of testing every pair.
+ *
+ * Cell coordinates wrap around the screen edges, which keeps entities that have
+ * drifted slightly off screen (before wrapping) in valid buckets.
+ *
+ * Building is split so it can run across threads: {@link #insert} only records the cell
+ * of one id, so inserts of distinct ids may run concurrently once {@link #begin(float, float, int)}
+ * has sized the grid, and {@link #finish(int)} then counting-sorts the ids by cell. Each cell
+ * lists its ids in ascending order whatever order they were inserted in, and queries only
+ * read, so they may also run concurrently.
+ */
+public class CollisionGrid {
+
+    private final float cellSize;
+    private int cols, rows;
+
+    // Cell of each id, then ids sorted by cell: cellStart[c] to cellStart[c + 1] index into sorted
+    private int[] cellOf = new int[64];
+    private int[] sorted = new int[64];
+    private int[] cellStart = new int[1];
+
+    public CollisionGrid(float cellSize) {
+        this.cellSize = cellSize;
+    }
+
+    /** Clears the grid and resizes it to cover a world of the given dimensions. */
+    public void begin(float worldWidth, float worldHeight) {
+        begin(worldWidth, worldHeight, 0);
+    }
+
+    /** Clears the grid and makes room for ids below {@code count}, so they can be inserted from several threads. */
+    public void begin(float worldWidth, float worldHeight, int count) {
+        cols = Math.max(1, (int) Math.ceil(worldWidth / cellSize));
+        rows = Math.max(1, (int) Math.ceil(worldHeight / cellSize));
+        int cells = cols * rows;
+        if (cellStart.length < cells + 1) cellStart = new int[cells + 1];
+        ensureIds(count);
+    }
+
+    /** Adds entity {@code id} with its centre at (x, y). Ids are expected to be dense, starting at zero. */
+    public void insert(int id, float x, float y) {
+        if (id >= cellOf.length) ensureIds(Math.max(id + 1, cellOf.length * 2));
+        cellOf[id] = cellIndex(x, y);
+    }
+
+    /** Sorts the {@code count} ids inserted since {@link #begin} into their cells. Call before querying. */
+    public void finish(int count) {
+        int cells = cols * rows;
+        for (int c = 0; c <= cells; c++) cellStart[c] = 0;
+        for (int id = 0; id < count; id++) cellStart[cellOf[id] + 1]++;
+        for (int c = 0; c < cells; c++) cellStart[c + 1] += cellStart[c];
+        // Place ids using cellStart as write cursors, then shift the cursors back into starts
+        for (int id = 0; id < count; id++) sorted[cellStart[cellOf[id]]++] = id;
+        for (int c = cells; c > 0; c--) cellStart[c] = cellStart[c - 1];
+        cellStart[0] = 0;
+    }
+
+    /**
+     * Collects the ids of every entity whose centre lies in a cell within {@code reach}
+     * of (x, y). The result is a superset of the real hits; callers still run the
+     * narrowphase test on each candidate.
+     */
+    public void query(float x, float y, float reach, IntArray out) {
+        out.clear();
+        int cx0 = (int) Math.floor((x - reach) / cellSize);
+        int cx1 = (int) Math.floor((x + reach) / cellSize);
+        int cy0 = (int) Math.floor((y - reach) / cellSize);
+        int cy1 = (int) Math.floor((y + reach) / cellSize);
+        // Never visit a column or row twice when the reach spans the whole grid
+        if (cx1 - cx0 + 1 >= cols) { cx0 = 0; cx1 = cols - 1; }
+        if (cy1 - cy0 + 1 >= rows) { cy0 = 0; cy1 = rows - 1; }
+
+        for (int cy = cy0; cy <= cy1; cy++) {
+            int row = Math.floorMod(cy, rows) * cols;
+            for (int cx = cx0; cx <= cx1; cx++) {
+                int cell = row + Math.floorMod(cx, cols);
+                for (int i = cellStart[cell], end = cellStart[cell + 1]; i < end; i++) {
+                    out.add(sorted[i]);
+                }
+            }
+        }
+    }
+
+    private void ensureIds(int capacity) {
+        if (capacity <= cellOf.length) return;
+        int[] grown = new int[capacity];
+        System.arraycopy(cellOf, 0, grown, 0, cellOf.length);
+        cellOf = grown;
+        sorted = new int[capacity];
+    }
+
+    private int cellIndex(float x, float y) {
+        int cx = Math.floorMod((int) Math.floor(x / cellSize), cols);
+        int cy = Math.floorMod((int) Math.floor(y / cellSize), rows);
+        return cy * cols + cx;
+    }
+}
@@ -0,0 +1,40 @@
+package com.micheal.asteroids;
+
+/**
+ * Fuses the gyroscope with the reported angles: the estimate follows the integrated gyro
+ * rate over short spans, which is smooth and immediate, and is pulled towards the reported
+ * angle over {@code timeConstant} seconds, which cancels gyro drift.
+ *
+ * Needs binary frames. Text lines carry no gyro rate, so their angles pass through with
+ * rates estimated from consecutive readings.
+ */
+public class ComplementaryFilter extends AxisFilter {
+
+    // Cutoff in Hz for rates estimated without a gyro
+    private static final float RATE_CUTOFF = 2f;
+
+    private final float timeConstant;
+
+    public ComplementaryFilter() {
+        this(0.2f);
+    }
+
+    public ComplementaryFilter(float timeConstant) {
+        this.timeConstant = timeConstant;
+    }
+
+    @Override
+    protected void filter(int axis, float measured, float measuredRate, boolean gyro, float dt) {
+        if (!started || !gyro) {
+            // Differences of noisy angles make a noisy rate, so it is smoothed before it is extrapolated
+            float speed = started ? SensorSample.wrapDegrees(measured - value[axis]) / dt : 0;
+            rate[axis] += smoothing(dt, RATE_CUTOFF) * (speed - rate[axis]);
+            value[axis] = measured;
+            return;
+        }
+        float predicted = value[axis] + measuredRate * dt;
+        float trust = timeConstant / (timeConstant + dt);
+        value[axis] = SensorSample.wrapDegrees(predicted + (1f - trust) * SensorSample.wrapDegrees(measured - predicted));
+        rate[axis] = measuredRate;
+    }
+}
@@ -0,0 +1,134 @@
+package com.micheal.asteroids;
+
+/**
+ * Structure-of-arrays storage for simple moving circles. Each entity is an index into
+ * parallel primitive arrays, so update and collision passes walk contiguous memory
+ * instead of chasing object references, and nothing is allocated once the arrays have
+ * grown to the working size.
+ *
+ * Positions are entity centres. The position before the last {@link #move(float)} is kept
+ * in {@code prevX}/{@code prevY} so rendering can interpolate between ticks. Entities are
+ * killed by clearing their alive bit and removed in bulk by {@link #compact()}, which keeps
+ * the live range dense.
+ */
+public class EntityStore {
+
+    public float[] x, y, vx, vy, radius;
+    public float[] prevX, prevY;
+    public int size;
+
+    private long[] alive;
+
+    public EntityStore(int capacity) {
+        capacity = Math.max(capacity, 16);
+        x = new float[capacity];
+        y = new float[capacity];
+        vx = new float[capacity];
+        vy = new float[capacity];
+        radius = new float[capacity];
+        prevX = new float[capacity];
+        prevY = new float[capacity];
+        alive = new long[(capacity + 63) >>> 6];
+    }
+
+    /** Appends a live entity and returns its index. */
+    public int add(float x, float y, float vx, float vy, float radius) {
+        if (size == this.x.length) grow(size * 2);
+        int i = size++;
+        this.x[i] = x;
+        this.y[i] = y;
+        prevX[i] = x;
+        prevY[i] = y;
+        this.vx[i] = vx;
+        this.vy[i] = vy;
+        this.radius[i] = radius;
+        alive[i >>> 6] |= 1L << i;
+        return i;
+    }
+
+    public boolean isAlive(int i) {
+        return (alive[i >>> 6] & (1L << i)) != 0;
+    }
+
+    public void kill(int i) {
+        alive[i >>> 6] &= ~(1L << i);
+    }
+
+    /** Narrowphase circle test against entity {@code i}, using squared distances to avoid a sqrt. */
+    public boolean overlaps(int i, float otherX, float otherY, float otherRadius) {
+        float dx = x[i] - otherX;
+        float dy = y[i] - otherY;
+        float reach = radius[i] + otherRadius;
+        return dx * dx + dy * dy < reach * reach;
+    }
+
+    /** Advances every entity along its velocity. */
+    public void move(float delta) {
+        move(delta, 0, size);
+    }
+
+    /** Advances entities {@code from} up to {@code to}. Disjoint ranges may be moved from different threads. */
+    public void move(float delta, int from, int to) {
+        float[] x = this.x, y = this.y, vx = this.vx, vy = this.vy;
+        System.arraycopy(x, from, prevX, from, to - from);
+        System.arraycopy(y, from, prevY, from, to - from);
+        for (int i = from; i < to; i++) {
+            x[i] += vx[i] * delta;
+            y[i] += vy[i] * delta;
+        }
+    }
+
+    /**
+     * Removes killed entities by moving the last live entity into each hole. Order is
+     * not preserved. Returns the number of entities removed.
+     */
+    public int compact() {
+        int removed = 0;
+        for (int i = size - 1; i >= 0; i--) {
+            if (isAlive(i)) continue;
+            int last = --size;
+            if (i != last) copy(last, i);
+            kill(last);
+            removed++;
+        }
+        return removed;
+    }
+
+    public void clear() {
+        for (int w = 0, words = (size + 63) >>> 6; w < words; w++) alive[w] = 0;
+        size = 0;
+    }
+
+    /** Copies entity {@code from} into slot {@code to}, including its alive bit. */
+    protected void copy(int from, int to) {
+        x[to] = x[from];
+        y[to] = y[from];
+        vx[to] = vx[from];
+        vy[to] = vy[from];
+        radius[to] = radius[from];
+        prevX[to] = prevX[from];
+        prevY[to] = prevY[from];
+        if (isAlive(from)) alive[to >>> 6] |= 1L << to;
+        else kill(to);
+    }
+
+    /** Grows every parallel array to {@code capacity}. Subclasses with extra arrays extend this. */
+    protected void grow(int capacity) {
+        x = resize(x, capacity);
+        y = resize(y, capacity);
+        vx = resize(vx, capacity);
+        vy = resize(vy, capacity);
+        radius = resize(radius, capacity);
+        prevX = resize(prevX, capacity);
+        prevY = resize(prevY, capacity);
+        long[] words = new long[(capacity + 63) >>> 6];
+        System.arraycopy(alive, 0, words, 0, alive.length);
+        alive = words;
+    }
+
+    protected static float[] resize(float[] array, int capacity) {
+        float[] grown = new float[capacity];
+        System.arraycopy(array, 0, grown, 0, array.length);
+        return grown;
+    }
+}
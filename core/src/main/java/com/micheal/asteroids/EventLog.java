@@ -0,0 +1,376 @@
+package com.micheal.asteroids;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Typed game events, written to a log file by a background thread so the threads that
+ * produce them never touch I/O. Events are copied into a preallocated ring of primitive
+ * arrays; logging one is a few array writes and never allocates or blocks.
+ *
+ * Each event type is rate limited with a token bucket, and events that arrive while the
+ * ring is full are dropped. Both are counted, and the counts are written to the log as they
+ * change. The log file is rotated once it reaches {@code maxFileBytes}, keeping
+ * {@code files} old logs as {@code <name>.1}, {@code <name>.2} and so on. Each run appends to
+ * the existing log after a {@code START} line, so a restart after a crash keeps the log of
+ * the run that failed.
+ *
+ * The file is opened by the writer thread, not the one creating the log. If opening or
+ * writing fails, for example in a read-only directory or on a full disk, the writer closes
+ * the file and tries again on its next pass. Events wait in the ring meanwhile, and once it
+ * fills they are counted as dropped like any other overflow.
+ *
+ * Any thread may log events, but the rate limit for a type assumes that type is logged
+ * from one thread: game events from the simulation, sensor errors from the sensor hub.
+ */
+public class EventLog {
+
+    public enum Type {
+        /** A bullet destroyed an asteroid: player, player's new score, position. */
+        KILL,
+        /** An asteroid hit a ship: player, lives left, position. */
+        HIT,
+        /** A new wave started: wave number, asteroids spawned. */
+        WAVE_START,
+        /** A sensor misbehaved: device, {@link SensorError}, how many times. */
+        SENSOR_ERROR,
+        /** A sensor's serial port changed state: device, {@link PortChange}. */
+        SENSOR_PORT
+    }
+
+    public enum SensorError {
+        INVALID_LINE, CORRUPT_FRAME, DROPPED_FRAMES, QUEUE_FULL, PORT_LOST
+    }
+
+    public enum PortChange {
+        /** Hot-plug detection gave the device a newly appeared port. */
+        DETECTED,
+        OPENED,
+        CLOSED
+    }
+
+    private static final Type[] TYPES = Type.values();
+    private static final SensorError[] SENSOR_ERRORS = SensorError.values();
+    private static final PortChange[] PORT_CHANGES = PortChange.values();
+    private static final long DRAIN_INTERVAL_NANOS = 50_000_000L;
+
+    /** A log that records nothing, for worlds and devices that are not being logged. */
+    public static final EventLog DISABLED = new EventLog();
+
+    private final boolean enabled;
+    private final long startNanos = System.nanoTime();
+
+    // The ring: one slot per event, published per slot so several threads can log at once
+    private final int mask;
+    private final byte[] type;
+    private final long[] nanos;
+    private final int[] a, b, c;
+    private final float[] x, y;
+    private final AtomicLongArray published; // Sequence + 1 of the event in each slot, once written
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicLong tail = new AtomicLong();
+
+    // Token bucket per type, refilled at ratePerSecond up to a burst of ratePerSecond
+    private final float ratePerSecond;
+    private final float[] tokens;
+    private final long[] refilled;
+
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLongArray rateLimited = new AtomicLongArray(TYPES.length);
+    private long writeErrors; // Writer thread only
+
+    // Writer thread state
+    private final Path file;
+    private final long maxFileBytes;
+    private final int files;
+    private Writer out;
+    private long fileBytes;
+    private final StringBuilder line = new StringBuilder();
+    private boolean started;
+    private long reportedDropped, reportedWriteErrors;
+    private final long[] reportedRateLimited = new long[TYPES.length];
+    private final Thread writer;
+    private volatile boolean running;
+
+    private EventLog() {
+        enabled = false;
+        mask = 0;
+        type = new byte[1];
+        nanos = new long[1];
+        a = b = c = new int[1];
+        x = y = new float[1];
+        published = new AtomicLongArray(1);
+        ratePerSecond = 0;
+        tokens = new float[0];
+        refilled = new long[0];
+        file = null;
+        maxFileBytes = 0;
+        files = 0;
+        writer = null;
+    }
+
+    /**
+     * Starts logging to {@code file}, which the writer thread opens. The ring holds {@code capacity} events (rounded up to a
+     * power of two) and each type may log {@code ratePerSecond} events per second.
+     */
+    public EventLog(Path file, int capacity, float ratePerSecond, long maxFileBytes, int files) {
+        enabled = true;
+        int size = Integer.highestOneBit(Math.max(2, capacity) - 1) << 1;
+        mask = size - 1;
+        type = new byte[size];
+        nanos = new long[size];
+        a = new int[size];
+        b = new int[size];
+        c = new int[size];
+        x = new float[size];
+        y = new float[size];
+        published = new AtomicLongArray(size);
+        this.ratePerSecond = ratePerSecond;
+        tokens = new float[TYPES.length];
+        refilled = new long[TYPES.length];
+        for (int t = 0; t < TYPES.length; t++) {
+            tokens[t] = ratePerSecond;
+            refilled[t] = startNanos;
+        }
+        this.file = file;
+        this.maxFileBytes = maxFileBytes;
+        this.files = files;
+
+        running = true;
+        writer = new Thread(this::drainLoop, "event-log");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /** Logs to the file named by {@code asteroids.eventLog} (default events.log), rotating at 1 MiB with 3 old files. */
+    public static EventLog fromSystemProperties() {
+        String name = System.getProperty("asteroids.eventLog", "events.log");
+        if (name.isEmpty()) return DISABLED;
+        float rate = Float.parseFloat(System.getProperty("asteroids.eventRate", "100"));
+        return new EventLog(Paths.get(name), 4096, rate, 1 << 20, 3);
+    }
+
+    public void kill(int player, int score, float x, float y) {
+        offer(Type.KILL, player, score, 0, x, y);
+    }
+
+    public void hit(int player, int livesLeft, float x, float y) {
+        offer(Type.HIT, player, livesLeft, 0, x, y);
+    }
+
+    public void waveStart(int wave, int asteroids) {
+        offer(Type.WAVE_START, wave, asteroids, 0, 0, 0);
+    }
+
+    public void sensorError(int device, SensorError error, int count) {
+        offer(Type.SENSOR_ERROR, device, error.ordinal(), count, 0, 0);
+    }
+
+    public void sensorPort(int device, PortChange change) {
+        offer(Type.SENSOR_PORT, device, change.ordinal(), 0, 0, 0);
+    }
+
+    /** Ring full drops so far. */
+    public long dropped() {
+        return dropped.get();
+    }
+
+    /** Events of {@code type} discarded by the rate limit so far. */
+    public long rateLimited(Type type) {
+        return rateLimited.get(type.ordinal());
+    }
+
+    private void offer(Type eventType, int a, int b, int c, float x, float y) {
+        if (!enabled) return;
+        long now = System.nanoTime();
+        int t = eventType.ordinal();
+        tokens[t] = Math.min(ratePerSecond, tokens[t] + (now - refilled[t]) * 1e-9f * ratePerSecond);
+        refilled[t] = now;
+        if (tokens[t] < 1f) {
+            rateLimited.incrementAndGet(t);
+            return;
+        }
+        tokens[t] -= 1f;
+
+        long sequence;
+        do {
+            sequence = head.get();
+            if (sequence - tail.get() > mask) {
+                dropped.incrementAndGet();
+                return;
+            }
+        } while (!head.compareAndSet(sequence, sequence + 1));
+
+        int slot = (int) sequence & mask;
+        type[slot] = (byte) t;
+        nanos[slot] = now;
+        this.a[slot] = a;
+        this.b[slot] = b;
+        this.c[slot] = c;
+        this.x[slot] = x;
+        this.y[slot] = y;
+        published.lazySet(slot, sequence + 1); // Publishes the slot writes above
+    }
+
+    private void drainLoop() {
+        while (running) {
+            if (drainOrReopen() == 0) LockSupport.parkNanos(DRAIN_INTERVAL_NANOS);
+        }
+        drainOrReopen();
+    }
+
+    /**
+     * Drains into the file, reopening it first if the last pass failed. A failed pass closes
+     * the file; events not yet written stay in the ring for the next pass.
+     */
+    private int drainOrReopen() {
+        try {
+            if (out == null) {
+                open();
+                if (!started) writeStart();
+            }
+            return drain();
+        } catch (IOException e) {
+            writeErrors++;
+            if (out != null) {
+                try {
+                    out.close();
+                } catch (IOException ignored) {}
+                out = null;
+            }
+            return 0;
+        }
+    }
+
+    /** Marks where this run's events begin in a log shared with earlier runs. */
+    private void writeStart() throws IOException {
+        line.setLength(0);
+        appendTime(startNanos);
+        line.append(" START");
+        write();
+        out.flush();
+        started = true;
+    }
+
+    /** Writes every published event and any change in the drop counters. Writer thread only. */
+    private int drain() throws IOException {
+        int written = 0;
+        for (long t = tail.get(); published.get((int) t & mask) == t + 1; t++) {
+            int slot = (int) t & mask;
+            format(slot);
+            tail.lazySet(t + 1);
+            written++;
+        }
+        reportDrops();
+        if (written > 0) out.flush();
+        return written;
+    }
+
+    private void format(int slot) throws IOException {
+        line.setLength(0);
+        appendTime(nanos[slot]);
+        Type eventType = TYPES[type[slot]];
+        line.append(' ').append(eventType.name());
+        switch (eventType) {
+            case KILL:
+                line.append(" player=").append(a[slot]).append(" score=").append(b[slot]);
+                appendPosition(slot);
+                break;
+            case HIT:
+                line.append(" player=").append(a[slot]).append(" lives=").append(b[slot]);
+                appendPosition(slot);
+                break;
+            case WAVE_START:
+                line.append(" wave=").append(a[slot]).append(" asteroids=").append(b[slot]);
+                break;
+            case SENSOR_ERROR:
+                line.append(" device=").append(a[slot]).append(" error=").append(SENSOR_ERRORS[b[slot]].name())
+                    .append(" count=").append(c[slot]);
+                break;
+            case SENSOR_PORT:
+                line.append(" device=").append(a[slot]).append(" port=").append(PORT_CHANGES[b[slot]].name());
+                break;
+        }
+        write();
+    }
+
+    private void reportDrops() throws IOException {
+        boolean changed = dropped.get() != reportedDropped || writeErrors != reportedWriteErrors;
+        for (int t = 0; t < TYPES.length; t++) changed |= rateLimited.get(t) != reportedRateLimited[t];
+        if (!changed) return;
+
+        line.setLength(0);
+        appendTime(System.nanoTime());
+        reportedDropped = dropped.get();
+        reportedWriteErrors = writeErrors;
+        line.append(" DROPPED ring_full=").append(reportedDropped).append(" write_errors=").append(reportedWriteErrors);
+        for (int t = 0; t < TYPES.length; t++) {
+            reportedRateLimited[t] = rateLimited.get(t);
+            line.append(" rate_limited_").append(TYPES[t].name().toLowerCase()).append('=').append(reportedRateLimited[t]);
+        }
+        write();
+    }
+
+    private void appendTime(long eventNanos) {
+        long millis = (eventNanos - startNanos) / 1_000_000L;
+        line.append(millis / 1000).append('.');
+        long fraction = millis % 1000;
+        if (fraction < 100) line.append('0');
+        if (fraction < 10) line.append('0');
+        line.append(fraction);
+    }
+
+    private void appendPosition(int slot) {
+        line.append(" x=").append(Math.round(x[slot])).append(" y=").append(Math.round(y[slot]));
+    }
+
+    private void write() throws IOException {
+        line.append('\n');
+        if (fileBytes + line.length() > maxFileBytes) rotate();
+        out.append(line);
+        fileBytes += line.length(); // Log text is ASCII, so characters are bytes
+    }
+
+    /** Shifts name.1 to name.2 and so on, dropping the oldest, then moves the current log to name.1. */
+    private void rotate() throws IOException {
+        out.close();
+        out = null;
+        for (int n = files - 1; n >= 1; n--) {
+            Path older = rotated(n);
+            if (Files.exists(older)) Files.move(older, rotated(n + 1), StandardCopyOption.REPLACE_EXISTING);
+        }
+        if (files > 0) Files.move(file, rotated(1), StandardCopyOption.REPLACE_EXISTING);
+        open();
+    }
+
+    private Path rotated(int n) {
+        return file.resolveSibling(file.getFileName() + "." + n);
+    }
+
+    /** Opens the log for appending, after whatever earlier runs left in it. */
+    private void open() throws IOException {
+        out = Files.newBufferedWriter(file, StandardCharsets.US_ASCII,
+            StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        fileBytes = Files.size(file);
+    }
+
+    /** Writes out everything logged so far and closes the file. */
+    public void close() {
+        if (!enabled) return;
+        running = false;
+        LockSupport.unpark(writer);
+        try {
+            writer.join();
+            if (out != null) out.close();
+        } catch (InterruptedException | IOException ignored) {}
+    }
+}
@@ -0,0 +1,47 @@
+package com.micheal.asteroids;
+
+/**
+ * Accumulates variable frame time and hands it out in fixed simulation steps, so the
+ * simulation behaves identically whatever the display refresh rate. The leftover
+ * fraction of a step is exposed as {@link #alpha()} for interpolating rendering.
+ */
+public class FixedStepLoop {
+
+    // Upper bound on simulated time per frame, so a long stall does not trigger a spiral of catch-up steps
+    private static final float MAX_FRAME_TIME = 0.25f;
+
+    private final float step;
+    private float accumulator;
+
+    public FixedStepLoop(int ticksPerSecond) {
+        this.step = 1f / ticksPerSecond;
+    }
+
+    /** Adds a frame's elapsed time and returns how many fixed steps are now due. */
+    public int advance(float frameDelta) {
+        accumulator += Math.min(frameDelta, MAX_FRAME_TIME);
+        int steps = (int) (accumulator / step);
+        accumulator -= steps * step;
+        return steps;
+    }
+
+    public float step() {
+        return step;
+    }
+
+    /** How far the current frame is between the last two simulated states, in [0, 1). */
+    public float alpha() {
+        return accumulator / step;
+    }
+
+    /**
+     * Blends two simulated positions for rendering. A jump of more than half of
+     * {@code span} is a screen wrap, which is drawn at its new position rather than
+     * streaked across the screen.
+     */
+    public static float interpolate(float previous, float current, float alpha, float span) {
+        float diff = current - previous;
+        if (Math.abs(diff) > span / 2f) return current;
+        return previous + diff * alpha;
+    }
+}
@@ -0,0 +1,171 @@
+package com.micheal.asteroids;
+
+import com.badlogic.gdx.files.FileHandle;
+
+/**
+ * Per-phase frame timings, entity counts and heap usage for the most recent frames, kept
+ * in preallocated ring buffers. Timing a phase is a {@link System#nanoTime()} call and
+ * an array add; nothing is allocated until a window is exported.
+ *
+ * Phases are timed by lapping: {@link #start()} returns a timestamp and each
+ * {@link #lap(Phase, long)} charges the time since the previous lap to a phase. Phases
+ * can be lapped several times per frame (one per simulation step) and accumulate.
+ */
+public class FrameProfiler {
+
+    public enum Phase {
+        INPUT("input"),
+        BULLETS("bullets"),
+        PLAYER("player"),
+        ASTEROIDS("asteroids"),
+        BROADPHASE("broadphase"),
+        PLAYER_COLLISION("player hits"),
+        BULLET_COLLISION("bullet hits"),
+        WAVES("waves"),
+        RENDER("render");
+
+        public final String label;
+
+        Phase(String label) {
+            this.label = label;
+        }
+    }
+
+    /** A profiler that records nothing, for worlds that are not being profiled. */
+    public static final FrameProfiler DISABLED = new FrameProfiler(1, false);
+
+    private static final Phase[] PHASES = Phase.values();
+    private static final int PHASE_COUNT = PHASES.length;
+
+    private final boolean enabled;
+    private final int capacity;
+    private final long[] phaseNanos;
+    private final long[] frameNanos;
+    private final int[] asteroids;
+    private final int[] bullets;
+    private final long[] heapBytes;
+
+    // Frames recorded so far; the frame being recorded is at index frames % capacity
+    private long frames;
+    private long frameStart;
+
+    public FrameProfiler(int capacity) {
+        this(capacity, true);
+    }
+
+    private FrameProfiler(int capacity, boolean enabled) {
+        this.enabled = enabled;
+        this.capacity = capacity;
+        phaseNanos = new long[capacity * PHASE_COUNT];
+        frameNanos = new long[capacity];
+        asteroids = new int[capacity];
+        bullets = new int[capacity];
+        heapBytes = new long[capacity];
+    }
+
+    /** Starts recording a new frame. */
+    public void beginFrame() {
+        if (!enabled) return;
+        int slot = (int) (frames % capacity);
+        for (int p = 0; p < PHASE_COUNT; p++) phaseNanos[slot * PHASE_COUNT + p] = 0;
+        frameStart = System.nanoTime();
+    }
+
+    /** Current timestamp to lap phases from, or 0 when disabled. */
+    public long start() {
+        return enabled ? System.nanoTime() : 0;
+    }
+
+    /** Charges the time since {@code since} to {@code phase} and returns the new lap start. */
+    public long lap(Phase phase, long since) {
+        if (!enabled) return 0;
+        long now = System.nanoTime();
+        phaseNanos[(int) (frames % capacity) * PHASE_COUNT + phase.ordinal()] += now - since;
+        return now;
+    }
+
+    /** Finishes the current frame, recording entity counts and heap in use. */
+    public void endFrame(int asteroidCount, int bulletCount) {
+        if (!enabled) return;
+        int slot = (int) (frames % capacity);
+        frameNanos[slot] = System.nanoTime() - frameStart;
+        asteroids[slot] = asteroidCount;
+        bullets[slot] = bulletCount;
+        Runtime runtime = Runtime.getRuntime();
+        heapBytes[slot] = runtime.totalMemory() - runtime.freeMemory();
+        frames++;
+    }
+
+    /** Number of completed frames held, at most the capacity. */
+    public int size() {
+        return (int) Math.min(frames, capacity);
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    /** Slot of a completed frame, where 0 is the oldest held and {@code size() - 1} the newest. */
+    private int slot(int frame) {
+        return (int) ((frames - size() + frame) % capacity);
+    }
+
+    public long phaseNanos(int frame, Phase phase) {
+        return phaseNanos[slot(frame) * PHASE_COUNT + phase.ordinal()];
+    }
+
+    public long frameNanos(int frame) {
+        return frameNanos[slot(frame)];
+    }
+
+    /** Mean time spent in {@code phase} over the newest {@code window} frames. */
+    public long averagePhaseNanos(Phase phase, int window) {
+        int n = Math.min(window, size());
+        if (n == 0) return 0;
+        long total = 0;
+        for (int f = size() - n; f < size(); f++) total += phaseNanos(f, phase);
+        return total / n;
+    }
+
+    /** Writes every held frame to {@code file} as CSV, one row per frame. */
+    public void exportCsv(FileHandle file) {
+        StringBuilder out = new StringBuilder();
+        out.append("frame,frame_ns");
+        for (Phase phase : PHASES) out.append(',').append(phase.name().toLowerCase()).append("_ns");
+        out.append(",asteroids,bullets,heap_bytes\n");
+        long first = frames - size();
+        for (int f = 0; f < size(); f++) {
+            int slot = slot(f);
+            out.append(first + f).append(',').append(frameNanos[slot]);
+            for (int p = 0; p < PHASE_COUNT; p++) out.append(',').append(phaseNanos[slot * PHASE_COUNT + p]);
+            out.append(',').append(asteroids[slot])
+                .append(',').append(bullets[slot])
+                .append(',').append(heapBytes[slot]).append('\n');
+        }
+        file.writeString(out.toString(), false);
+    }
+
+    /** Writes every held frame to {@code file} as a JSON array of objects. */
+    public void exportJson(FileHandle file) {
+        StringBuilder out = new StringBuilder();
+        out.append("[\n");
+        long first = frames - size();
+        for (int f = 0; f < size(); f++) {
+            int slot = slot(f);
+            out.append("  {\"frame\": ").append(first + f)
+                .append(", \"frame_ns\": ").append(frameNanos[slot])
+                .append(", \"phases_ns\": {");
+            for (int p = 0; p < PHASE_COUNT; p++) {
+                if (p > 0) out.append(", ");
+                out.append('"').append(PHASES[p].name().toLowerCase()).append("\": ")
+                    .append(phaseNanos[slot * PHASE_COUNT + p]);
+            }
+            out.append("}, \"asteroids\": ").append(asteroids[slot])
+                .append(", \"bullets\": ").append(bullets[slot])
+                .append(", \"heap_bytes\": ").append(heapBytes[slot])
+                .append(f < size() - 1 ? "},\n" : "}\n");
+        }
+        out.append("]\n");
+        file.writeString(out.toString(), false);
+    }
+}
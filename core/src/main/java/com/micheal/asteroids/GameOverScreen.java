@@ -4,14 +4,14 @@ import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Input;
 import com.badlogic.gdx.Screen;
 import com.badlogic.gdx.graphics.GL20;
-import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.BitmapFontCache;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 
 public class GameOverScreen implements Screen {
 
     private final AsteroidsGame game;
     private SpriteBatch batch;
-    private BitmapFont font;
+    private BitmapFontCache text;
 
     private final int finalScore;
 
@@ -22,8 +22,16 @@ public class GameOverScreen implements Screen {
 
     @Override
     public void show() {
-        batch = new SpriteBatch();
-        font = new BitmapFont(); // You can set a custom font here
+        // Shared with the other screens; owned and disposed by the game
+        batch = game.getBatch();
+        // The final score is known up front, so the whole screen is laid out once
+        float width = AsteroidsGame.WORLD_WIDTH;
+        float height = AsteroidsGame.WORLD_HEIGHT;
+        StringBuilder score = new StringBuilder("Your Score: ").append(finalScore);
+        text = game.getFont().newFontCache();
+        text.addText("Game Over", width * 0.4f, height * 0.6f);
+        text.addText(score, width * 0.4f, height * 0.5f);
+        text.addText("Press SPACE to restart", width * 0.35f, height * 0.4f);
     }
 
     @Override
@@ -32,15 +40,12 @@ public class GameOverScreen implements Screen {
         Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
 
         batch.begin();
-        font.draw(batch, "Game Over", Gdx.graphics.getWidth() * 0.4f, Gdx.graphics.getHeight() * 0.6f);
-        font.draw(batch, "Your Score: " + finalScore, Gdx.graphics.getWidth() * 0.4f, Gdx.graphics.getHeight() * 0.5f);
-        font.draw(batch, "Press SPACE to restart", Gdx.graphics.getWidth() * 0.35f, Gdx.graphics.getHeight() * 0.4f);
+        text.draw(batch);
         batch.end();
 
         // Handle input to restart or exit
         if (Gdx.input.isKeyJustPressed(Input.Keys.SPACE)) {
-            game.setScreen(new GameScreen(game));
-            dispose(); // Dispose of resources before transitioning
+            game.setScreen(new GameScreen(game)); // The game disposes this screen
         }
     }
 
@@ -58,7 +63,6 @@ public class GameOverScreen implements Screen {
 
     @Override
     public void dispose() {
-        batch.dispose();
-        font.dispose();
+        // Nothing of our own to release; the batch and font belong to the game
     }
 }
@@ -1,49 +1,70 @@
 package com.micheal.asteroids;
 
-import com.badlogic.gdx.Game;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Input;
 import com.badlogic.gdx.Screen;
+import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.GL20;
-import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
-import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+
+/**
+ * Draws the {@link World} and feeds it input from the tilt sensors and keyboard, one ship
+ * per sensor. All game rules live in the world; this screen only adapts devices and renders.
+ *
+ * Every sprite and the font come from one texture atlas, so the world, including its
+ * {@link ParticleSystem particles}, is drawn as a single batch with no texture switches.
+ * It is drawn into the game's {@link RenderTarget} at a resolution scaled to hold the frame
+ * rate; the HUD is drawn over the upscaled picture at full resolution so text stays sharp.
+ */
+public class GameScreen implements Screen {
 
-import java.util.ArrayList;
-import java.util.List;
+    // Simulation rate, independent of the display refresh rate. Lower it on weak hardware.
+    private static final int TICK_RATE = Integer.getInteger("asteroids.tickRate", 120);
+    // Swarm stress mode: -Dasteroids.swarm=20000 starts the game with that many extra asteroids
+    private static final int SWARM = Integer.getInteger("asteroids.swarm", 0);
 
-public class GameScreen implements Screen {
+    // Each player's fire key and ship tint, in player order
+    private static final int[] FIRE_KEYS = {Input.Keys.SPACE, Input.Keys.ENTER, Input.Keys.Q, Input.Keys.P};
+    private static final Color[] PLAYER_COLORS = {
+        Color.WHITE, new Color(0.5f, 1f, 0.5f, 1f), new Color(1f, 0.6f, 0.4f, 1f), new Color(0.5f, 0.7f, 1f, 1f)
+    };
 
-    private MPU6050Reader mpuReader;
+    private SensorSource[] sensors;
     private SpriteBatch batch;
-    private Texture asteroidTexture;
-    private List<Asteroid> asteroids;
-    private Texture playerTexture;
-    private float playerX, playerY;
-    private float angle;
-
-    private float drag = 0.98f;
-    private float playerRadius;
-    private int score = 0;
-    private int lives = 3;
+    private TextureRegion asteroidRegion;
+    private TextureRegion playerRegion;
+    private TextureRegion bulletRegion;
+    private TextureRegion pixelRegion;
     private BitmapFont font;
 
-    private Texture bulletTexture;
-    private List<Bullet> bullets;
-    private float shootCooldown = 0.3f;
-    private float shootTimer = 0f;
+    private World world;
+    private ParticleSystem particles;
+    private PlayerInput[] inputs;
+    private final FixedStepLoop loop = new FixedStepLoop(TICK_RATE);
+
+    // Furthest the sensor orientation is extrapolated past its newest reading
+    private static final long MAX_PREDICTION_NANOS = 50_000_000L;
 
-    private float velocityX = 0;
-    private float velocityY = 0;
+    // Each player's newest filtered sensor reading, and its orientation predicted for when this frame is shown
+    private final SensorSample sample = new SensorSample();
+    private SensorSample[] latest;
+    private final SensorSample predicted = new SensorSample();
 
-    private float rotationSpeed = 180f;
-    private float thrustPower = 1000f;
+    // Debug overlays: F1 shows sensor latency percentiles, F2 the GL draw call counters,
+    // F3 the per-phase frame time graph. F4 exports the profiled frames as CSV, shift+F4 as JSON.
+    private boolean showLatency;
+    private RenderStats renderStats;
+    private boolean showProfiler;
+    private final FrameProfiler profiler = new FrameProfiler(240);
+    private ProfilerOverlay profilerOverlay;
 
-    // Wave system
-    private int wave = 1;
-    private int startingAsteroids = 5;
-    private boolean waveCleared = false;
+    // HUD lines, each re-laid out only when its text changes
+    private CachedText scoreText, livesText, waveText;
+    private CachedText[] playerText;
+    private CachedText sensorToInputText, sensorToFrameText, renderStatsText;
 
     private AsteroidsGame game;
 
@@ -53,183 +74,269 @@ public class GameScreen implements Screen {
 
     @Override
     public void show() {
-        mpuReader = new MPU6050Reader("COM6", 115200);
-        font = new BitmapFont();
-        batch = new SpriteBatch();
-        playerTexture = new Texture(Gdx.files.internal("player.png"));
-        playerX = Gdx.graphics.getWidth() / 2f - playerTexture.getWidth() / 2f;
-        playerY = Gdx.graphics.getHeight() / 2f - playerTexture.getHeight() / 2f;
-        asteroidTexture = new Texture(Gdx.files.internal("asteroid.png"));
-        asteroids = new ArrayList<>();
-        playerRadius = playerTexture.getWidth() / 2f;
-        bulletTexture = new Texture(Gdx.files.internal("bullet.png"));
-        bullets = new ArrayList<>();
-
-        spawnAsteroids(startingAsteroids);
-    }
+        // Everything heavy is borrowed from the game, so starting (or restarting) a game loads nothing
+        sensors = game.getSensors();
+        int players = Math.min(sensors.length, FIRE_KEYS.length);
+        batch = game.getBatch();
+        font = game.getFont();
+        // The target last drew a game before the menus; that gap is not a frame
+        game.getRenderTarget().reset();
+        scoreText = new CachedText(font);
+        livesText = new CachedText(font);
+        waveText = new CachedText(font);
+        sensorToInputText = new CachedText(font);
+        sensorToFrameText = new CachedText(font);
+        renderStatsText = new CachedText(font);
+        TextureAtlas atlas = game.getAtlas();
+        playerRegion = atlas.findRegion("player");
+        asteroidRegion = atlas.findRegion("asteroid");
+        bulletRegion = atlas.findRegion("bullet");
+        pixelRegion = atlas.findRegion("pixel");
+        renderStats = new RenderStats();
+        profilerOverlay = new ProfilerOverlay(pixelRegion);
+        particles = game.getParticles();
+        particles.clear();
+
+        // A fixed seed (-Dasteroids.seed=...) replays the same game for the same inputs
+        world = new World(
+            Long.getLong("asteroids.seed", System.nanoTime()),
+            players,
+            AsteroidsGame.WORLD_WIDTH, AsteroidsGame.WORLD_HEIGHT,
+            playerRegion.getRegionWidth() / 2f,
+            asteroidRegion.getRegionWidth() / 2f,
+            bulletRegion.getRegionWidth() / 2f);
+        world.setProfiler(profiler);
+        world.setWorkers(game.getWorkers());
+        world.setEventLog(game.getEvents());
+        world.setParticles(particles);
+        if (SWARM > 0) world.addAsteroids(SWARM);
+
+        playerText = new CachedText[players];
+        for (int p = 0; p < players; p++) {
+            playerText[p] = new CachedText(font).setColor(PLAYER_COLORS[p]);
+        }
 
-    private void spawnAsteroids(int count) {
-        for (int i = 0; i < count; i++) {
-            float x = MathUtils.random(0, Gdx.graphics.getWidth());
-            float y = MathUtils.random(0, Gdx.graphics.getHeight());
-            asteroids.add(new Asteroid(asteroidTexture));
+        inputs = new PlayerInput[players];
+        latest = new SensorSample[players];
+        for (int p = 0; p < players; p++) {
+            inputs[p] = new PlayerInput();
+            latest[p] = new SensorSample();
+            latest[p].set(0, 0, 0, System.nanoTime());
+            // Discard whatever the sensor queued while we were in the menus
+            while (sensors[p].poll(sample)) {
+                latest[p].set(sample);
+            }
         }
     }
 
     @Override
     public void render(float delta) {
-        handleInput(delta);
+        renderStats.beginFrame();
+        profiler.beginFrame();
 
-        shootTimer -= delta;
+        long lap = profiler.start();
+        handleInput(delta);
+        profiler.lap(FrameProfiler.Phase.INPUT, lap);
+        for (int steps = loop.advance(delta); steps > 0 && !world.isGameOver(); steps--) {
+            world.step(inputs, loop.step());
+        }
 
-        // Update bullets
-        for (Bullet bullet : bullets) {
-            bullet.update(delta);
+        if (world.isGameOver()) {
+            game.setScreen(new GameOverScreen(game, world.getScore()));
+            return; // <---- immediately exit render() to avoid crashing
         }
-        bullets.removeIf(bullet -> !bullet.active);
 
-        // Update player position
-        playerX += velocityX * delta;
-        playerY += velocityY * delta;
-        velocityX *= drag;
-        velocityY *= drag;
+        // Rendering
+        lap = profiler.start();
+        particles.update(delta);
+        RenderTarget target = game.getRenderTarget();
+        target.begin();
+        Gdx.gl.glClearColor(0, 0, 0.15f, 1);
+        Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
 
-        // Update asteroids
-        for (Asteroid a : asteroids) {
-            a.update(delta);
-        }
+        // Draw between the last two simulated states so motion stays smooth at any refresh rate
+        float alpha = loop.alpha();
+        float worldWidth = world.getWidth();
+        float worldHeight = world.getHeight();
 
-        // Player-asteroid collision
-        List<Asteroid> asteroidsToRemove = new ArrayList<>();
-        for (Asteroid asteroid : asteroids) {
-            if (asteroid.collidesWith(playerX + playerTexture.getWidth() / 2f, playerY + playerTexture.getHeight() / 2f, playerRadius)) {
-                System.out.println("Player hit an asteroid!");
-                playerX = Gdx.graphics.getWidth() / 2f - playerTexture.getWidth() / 2f;
-                playerY = Gdx.graphics.getHeight() / 2f - playerTexture.getHeight() / 2f;
-                velocityX = 0;
-                velocityY = 0;
-                lives--;
-                if (lives <= 0) {
-                    ((Game) Gdx.app.getApplicationListener()).setScreen(new GameOverScreen((AsteroidsGame) Gdx.app.getApplicationListener(), score));
-                    return; // <---- immediately exit render() to avoid crashing
-                }
-                asteroidsToRemove.add(asteroid); // Remove asteroid after collision
-            }
+        batch.begin();
+        // Entities are stored by centre; regions are drawn from their bottom-left corner
+        drawAsteroids(world.getAsteroids(), alpha, worldWidth, worldHeight);
+        drawEntities(world.getBullets(), bulletRegion, alpha, worldWidth, worldHeight);
+        particles.draw(batch, pixelRegion);
+
+        float shipW = playerRegion.getRegionWidth();
+        float shipH = playerRegion.getRegionHeight();
+        int players = world.getPlayerCount();
+        for (int p = 0; p < players; p++) {
+            if (!world.isPlaying(p)) continue;
+            Ship ship = world.getShip(p);
+            float shipX = FixedStepLoop.interpolate(ship.prevX, ship.x, alpha, worldWidth);
+            float shipY = FixedStepLoop.interpolate(ship.prevY, ship.y, alpha, worldHeight);
+            batch.setColor(PLAYER_COLORS[p]);
+            batch.draw(
+                playerRegion,
+                shipX - shipW / 2f,
+                shipY - shipH / 2f,
+                shipW / 2f,
+                shipH / 2f,
+                shipW,
+                shipH,
+                1f, 1f,
+                ship.prevAngle + (ship.angle - ship.prevAngle) * alpha
+            );
         }
+        batch.setColor(Color.WHITE);
+        batch.end();
+        target.end(batch);
 
-        // Bullet-asteroid collision
-        List<Bullet> bulletsToRemove = new ArrayList<>();
-        for (Asteroid asteroid : asteroids) {
-            for (Bullet bullet : bullets) {
-                float bulletCenterX = bullet.x + bulletTexture.getWidth() / 2f;
-                float bulletCenterY = bullet.y + bulletTexture.getHeight() / 2f;
-                if (asteroid.collidesWith(bulletCenterX, bulletCenterY, bullet.radius)) {
-                    asteroidsToRemove.add(asteroid);
-                    bulletsToRemove.add(bullet);
-                    System.out.println("Asteroid destroyed!");
-                    score++;
-                }
+        // The HUD goes over the upscaled world at full resolution
+        batch.begin();
+        float top = worldHeight;
+        if (players == 1) {
+            scoreText.text().append("Score: ").append(world.getScore());
+            scoreText.draw(batch, 20, top - 20);
+            livesText.text().append("Lives: ").append(world.getLives());
+            livesText.draw(batch, 20, top - 50);
+        } else {
+            for (int p = 0; p < players; p++) {
+                playerText[p].text().append('P').append(p + 1)
+                    .append("  Score: ").append(world.getScore(p))
+                    .append("  Lives: ").append(world.getLives(p));
+                playerText[p].draw(batch, 20 + p * 220, top - 20);
             }
         }
+        waveText.text().append("Wave: ").append(world.getWave());
+        waveText.draw(batch, 20, top - 80);
+
+        if (showLatency) {
+            InputLatency latency = game.getInputLatency();
+            InputLatency.appendSummary(sensorToInputText.text(), "sensor->input", latency.sensorToInput);
+            sensorToInputText.draw(batch, 20, top - 120);
+            StringBuilder toFrame = sensorToFrameText.text();
+            InputLatency.appendSummary(toFrame, "sensor->frame", latency.sensorToFrame);
+            if (latency.untimed() > 0) toFrame.append(" not timed ").append(latency.untimed());
+            sensorToFrameText.draw(batch, 20, top - 150);
+        }
+        if (renderStats.isEnabled()) {
+            renderStats.appendSummary(renderStatsText.text())
+                .append("  scale: ").append(Math.round(target.getScale() * 100)).append('%');
+            renderStatsText.draw(batch, 20, top - 180);
+        }
+        if (showProfiler) {
+            profilerOverlay.draw(batch, font, profiler, 20, 20);
+        }
+        batch.end();
+        game.getInputLatency().frameFinished(System.nanoTime());
+        profiler.lap(FrameProfiler.Phase.RENDER, lap);
+        profiler.endFrame(world.getAsteroids().size, world.getBullets().size);
+    }
 
-        asteroids.removeAll(asteroidsToRemove);
-        bullets.removeAll(bulletsToRemove);
-
-        // Wave progression
-        if (asteroids.isEmpty() && !waveCleared) {
-            wave++;
-            startingAsteroids += 2; // Increase difficulty
-            spawnAsteroids(startingAsteroids);
-            waveCleared = true;
+    private void drawEntities(EntityStore entities, TextureRegion region, float alpha, float worldWidth, float worldHeight) {
+        float halfW = region.getRegionWidth() / 2f;
+        float halfH = region.getRegionHeight() / 2f;
+        for (int i = 0; i < entities.size; i++) {
+            float x = FixedStepLoop.interpolate(entities.prevX[i], entities.x[i], alpha, worldWidth);
+            float y = FixedStepLoop.interpolate(entities.prevY[i], entities.y[i], alpha, worldHeight);
+            batch.draw(region, x - halfW, y - halfH);
         }
+    }
 
-        if (!asteroids.isEmpty()) {
-            waveCleared = false;
+    /** Draws asteroids like other entities, but translucent while they fade in. */
+    private void drawAsteroids(AsteroidField asteroids, float alpha, float worldWidth, float worldHeight) {
+        float halfW = asteroidRegion.getRegionWidth() / 2f;
+        float halfH = asteroidRegion.getRegionHeight() / 2f;
+        float drawnFade = 1f;
+        for (int i = 0; i < asteroids.size; i++) {
+            float fade = asteroids.fade[i];
+            if (fade != drawnFade) {
+                batch.setColor(1f, 1f, 1f, fade);
+                drawnFade = fade;
+            }
+            float x = FixedStepLoop.interpolate(asteroids.prevX[i], asteroids.x[i], alpha, worldWidth);
+            float y = FixedStepLoop.interpolate(asteroids.prevY[i], asteroids.y[i], alpha, worldHeight);
+            batch.draw(asteroidRegion, x - halfW, y - halfH);
         }
+        batch.setColor(Color.WHITE);
+    }
 
-        // Screen wrapping
-        if (playerX < -playerTexture.getWidth()) playerX = Gdx.graphics.getWidth();
-        if (playerX > Gdx.graphics.getWidth()) playerX = -playerTexture.getWidth();
-        if (playerY < -playerTexture.getHeight()) playerY = Gdx.graphics.getHeight();
-        if (playerY > Gdx.graphics.getHeight()) playerY = -playerTexture.getHeight();
+    /** The game being played, once the screen has been shown. */
+    public World getWorld() {
+        return world;
+    }
 
-        // Rendering
-        Gdx.gl.glClearColor(0, 0, 0.15f, 1);
-        Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
+    /** The key that fires {@code player}'s ship. */
+    public static int fireKey(int player) {
+        return FIRE_KEYS[player];
+    }
 
-        batch.begin();
-        for (Asteroid a : asteroids) {
-            a.render(batch);
-        }
-        for (Bullet bullet : bullets) {
-            bullet.render(batch);
+    /** Reduces the sensor and keyboard state to this frame's {@link PlayerInput} for every player. */
+    private void handleInput(float delta) {
+        InputLatency latency = game.getInputLatency();
+        long now = System.nanoTime();
+        for (int p = 0; p < inputs.length; p++) {
+            // Drain everything the sensor sent since last frame. Readings are already filtered,
+            // so only the newest matters; without new ones the previous reading is extrapolated further.
+            while (sensors[p].poll(sample)) {
+                latency.consumed(sample.nanos, now);
+                latest[p].set(sample);
+            }
+
+            // Predict the orientation for when this frame reaches the display, about a frame from now
+            predicted.set(latest[p]);
+            predicted.extrapolate(now + (long) (delta * 1e9f), MAX_PREDICTION_NANOS);
+            applyTilt(inputs[p], predicted.roll, predicted.pitch);
+            inputs[p].fire = Gdx.input.isKeyPressed(FIRE_KEYS[p]);
+            if (inputs[p].thrust && world.isPlaying(p)) particles.thrust(world.getShip(p), delta);
         }
 
-        font.draw(batch, "Score: " + score, 20, Gdx.graphics.getHeight() - 20);
-        font.draw(batch, "Lives: " + lives, 20, Gdx.graphics.getHeight() - 50);
-        font.draw(batch, "Wave: " + wave, 20, Gdx.graphics.getHeight() - 80);
-
-        batch.draw(
-            playerTexture,
-            playerX, playerY,
-            playerTexture.getWidth() / 2f,
-            playerTexture.getHeight() / 2f,
-            playerTexture.getWidth(),
-            playerTexture.getHeight(),
-            1f, 1f,
-            angle,
-            0, 0,
-            playerTexture.getWidth(),
-            playerTexture.getHeight(),
-            false, false
-        );
-        batch.end();
+        if (Gdx.input.isKeyJustPressed(Input.Keys.F1)) showLatency = !showLatency;
+        if (Gdx.input.isKeyJustPressed(Input.Keys.F2)) renderStats.setEnabled(!renderStats.isEnabled());
+        if (Gdx.input.isKeyJustPressed(Input.Keys.F3)) showProfiler = !showProfiler;
+        if (Gdx.input.isKeyJustPressed(Input.Keys.F4)) exportProfile();
     }
 
-    private void handleInput(float delta) {
-        float roll = mpuReader.getRoll();
-        float pitch = mpuReader.getPitch();
-
+    /** Turns and thrusts when the controller is tilted past fixed thresholds. */
+    private static void applyTilt(PlayerInput input, float roll, float pitch) {
         // Left/Right rotation based on Roll
         float rollThreshold = 15f;
         if (roll > rollThreshold) {
-            angle -= -rotationSpeed * delta;
+            input.turn = 1f;
         } else if (roll < -rollThreshold) {
-            angle += -rotationSpeed * delta;
+            input.turn = -1f;
+        } else {
+            input.turn = 0f;
         }
 
         // Forward thrust based on Pitch
         float pitchThreshold = 10f;
-        if (pitch < -pitchThreshold) {
-            float radians = (angle + 90) * MathUtils.degreesToRadians;
-            velocityX += MathUtils.cos(radians) * thrustPower * delta;
-            velocityY += MathUtils.sin(radians) * thrustPower * delta;
-        }
+        input.thrust = pitch < -pitchThreshold;
+    }
 
-        if (Gdx.input.isKeyPressed(Input.Keys.SPACE) && shootTimer <= 0f) {
-            float bulletX = playerX + playerTexture.getWidth() / 2f - bulletTexture.getWidth() / 2f;
-            float bulletY = playerY + playerTexture.getHeight() / 2f - bulletTexture.getHeight() / 2f;
-            bullets.add(new Bullet(bulletTexture, bulletX, bulletY, angle));
-            shootTimer = shootCooldown;
-        }
+    private void exportProfile() {
+        boolean json = Gdx.input.isKeyPressed(Input.Keys.SHIFT_LEFT) || Gdx.input.isKeyPressed(Input.Keys.SHIFT_RIGHT);
+        String name = "frame-profile-" + System.currentTimeMillis() + (json ? ".json" : ".csv");
+        if (json) profiler.exportJson(Gdx.files.local(name));
+        else profiler.exportCsv(Gdx.files.local(name));
+        Gdx.app.log("Profiler", "Wrote " + profiler.size() + " frames to " + name);
     }
 
     @Override
-    public void resize(int width, int height) {}
+    public void resize(int width, int height) {
+        // The game resizes the viewport; the world keeps its size in world units
+    }
     @Override
     public void pause() {}
     @Override
-    public void resume() {}
+    public void resume() {
+        game.getRenderTarget().reset();
+    }
     @Override
     public void hide() {}
     @Override
     public void dispose() {
-        batch.dispose();
-        playerTexture.dispose();
-        bulletTexture.dispose();
-        font.dispose();
-        if (mpuReader != null) mpuReader.close();
+        // The batch, atlas, font and sensor belong to the game and outlive this screen
+        renderStats.setEnabled(false);
     }
 
 }
-
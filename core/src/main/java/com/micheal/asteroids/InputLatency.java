@@ -0,0 +1,89 @@
+package com.micheal.asteroids;
+
+import com.badlogic.gdx.files.FileHandle;
+
+/**
+ * Sensor-to-screen latency: from the serial read that delivered a sample to the moment
+ * the game consumed it as input, and to the end of the frame that drew the result.
+ * Lives for the whole application so the report covers every game played.
+ */
+public class InputLatency {
+
+    public final LatencyHistogram sensorToInput = new LatencyHistogram();
+    public final LatencyHistogram sensorToFrame = new LatencyHistogram();
+
+    // Arrival stamps of the samples consumed this frame, waiting for the frame to finish. Room
+    // for four players each draining a full 256-sample reader queue after a hitch
+    private final long[] pending = new long[4 * 256];
+    private int pendingCount;
+    private long untimed;
+
+    /** Records a sample being consumed as input at {@code now}. */
+    public void consumed(long sampleNanos, long now) {
+        sensorToInput.record(now - sampleNanos);
+        if (pendingCount < pending.length) {
+            pending[pendingCount++] = sampleNanos;
+        } else {
+            untimed++;
+        }
+    }
+
+    /** Samples consumed in frames that had no room left to time them to the end of the frame. */
+    public long untimed() {
+        return untimed;
+    }
+
+    /** Records the end of the frame that used every sample consumed since the last call. */
+    public void frameFinished(long now) {
+        for (int i = 0; i < pendingCount; i++) {
+            sensorToFrame.record(now - pending[i]);
+        }
+        pendingCount = 0;
+    }
+
+    /** Appends a one-line p50/p99/max summary of {@code histogram} in milliseconds. */
+    public static StringBuilder appendSummary(StringBuilder out, String label, LatencyHistogram histogram) {
+        out.append(label).append(" p50 ");
+        appendMillis(out, histogram.percentile(50));
+        out.append(" p99 ");
+        appendMillis(out, histogram.percentile(99));
+        out.append(" max ");
+        appendMillis(out, histogram.max());
+        return out.append(" ms (n=").append(histogram.count()).append(')');
+    }
+
+    /** Appends nanoseconds as milliseconds with two decimals, without going through float formatting. */
+    static void appendMillis(StringBuilder out, long nanos) {
+        long hundredths = nanos / 10_000;
+        out.append(hundredths / 100).append('.');
+        long fraction = hundredths % 100;
+        if (fraction < 10) out.append('0');
+        out.append(fraction);
+    }
+
+    /** Writes the latency percentiles to {@code file}, replacing its contents. */
+    public void writeReport(FileHandle file) {
+        StringBuilder report = new StringBuilder();
+        appendReport(report, "sensor -> input", sensorToInput);
+        appendReport(report, "sensor -> frame", sensorToFrame);
+        report.append("  not timed ").append(untimed).append('\n');
+        file.writeString(report.toString(), false);
+    }
+
+    private static void appendReport(StringBuilder out, String label, LatencyHistogram histogram) {
+        out.append(label).append('\n');
+        out.append("  samples ").append(histogram.count()).append('\n');
+        double[] percentiles = {50, 90, 99, 99.9};
+        String[] labels = {"p50", "p90", "p99", "p99.9"};
+        for (int i = 0; i < percentiles.length; i++) {
+            out.append("  ").append(labels[i]).append(' ');
+            appendMillis(out, histogram.percentile(percentiles[i]));
+            out.append(" ms\n");
+        }
+        out.append("  max ");
+        appendMillis(out, histogram.max());
+        out.append(" ms\n  mean ");
+        appendMillis(out, histogram.mean());
+        out.append(" ms\n");
+    }
+}
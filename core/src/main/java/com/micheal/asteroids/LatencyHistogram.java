@@ -0,0 +1,77 @@
+package com.micheal.asteroids;
+
+/**
+ * Fixed-memory histogram of nanosecond durations with log-linear buckets: every power of
+ * two is split into 16 linear sub-buckets, giving about 6% worst-case error from
+ * nanoseconds up to about 18 minutes. Recording is a few shifts and an array increment
+ * and never allocates. Not thread-safe; record from one thread.
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int MAX_EXPONENT = 40;
+    private static final long MAX_VALUE = (1L << (MAX_EXPONENT + 1)) - 1;
+
+    private final long[] counts = new long[(MAX_EXPONENT - SUB_BUCKET_BITS + 2) * SUB_BUCKETS];
+    private long count;
+    private long max;
+    private long sum;
+
+    public void record(long nanos) {
+        long value = Math.max(0, Math.min(nanos, MAX_VALUE));
+        counts[indexOf(value)]++;
+        count++;
+        sum += value;
+        if (value > max) max = value;
+    }
+
+    /**
+     * Returns the value at the given percentile (0-100), as the upper bound of the bucket
+     * it falls in, or 0 if nothing has been recorded.
+     */
+    public long percentile(double percentile) {
+        if (count == 0) return 0;
+        long target = Math.max(1, (long) Math.ceil(percentile / 100.0 * count));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= target) return Math.min(highestValueAt(i), max);
+        }
+        return max;
+    }
+
+    public long count() {
+        return count;
+    }
+
+    public long max() {
+        return max;
+    }
+
+    public long mean() {
+        return count == 0 ? 0 : sum / count;
+    }
+
+    public void reset() {
+        for (int i = 0; i < counts.length; i++) counts[i] = 0;
+        count = 0;
+        max = 0;
+        sum = 0;
+    }
+
+    private static int indexOf(long value) {
+        if (value < SUB_BUCKETS) return (int) value;
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int shift = exponent - SUB_BUCKET_BITS;
+        int sub = (int) (value >>> shift) - SUB_BUCKETS;
+        return (shift + 1) * SUB_BUCKETS + sub;
+    }
+
+    private static long highestValueAt(int index) {
+        int group = index / SUB_BUCKETS;
+        int sub = index % SUB_BUCKETS;
+        if (group == 0) return sub;
+        return ((long) (SUB_BUCKETS + sub + 1) << (group - 1)) - 1;
+    }
+}
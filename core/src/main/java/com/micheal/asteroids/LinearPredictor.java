@@ -0,0 +1,63 @@
+package com.micheal.asteroids;
+
+/**
+ * Fits a least-squares line through the last {@code window} readings of each axis. The
+ * slope becomes the rate used for extrapolation and the fitted value at the newest reading
+ * replaces the reading, trimming noise without the lag of an average.
+ *
+ * Uses the gyro rate instead of the fitted slope when binary frames provide one.
+ */
+public class LinearPredictor extends AxisFilter {
+
+    private final float[] times; // Seconds relative to the newest reading, so always small
+    private final float[] history; // window readings per axis, unwrapped around the newest
+    private final int window;
+    private int count; // Readings in the window, up to window
+    private int next = -1; // Slot of the newest reading
+
+    public LinearPredictor() {
+        this(6);
+    }
+
+    public LinearPredictor(int window) {
+        if (window < 2) throw new IllegalArgumentException("window must be at least 2: " + window);
+        this.window = window;
+        times = new float[window];
+        history = new float[window * 3];
+    }
+
+    @Override
+    protected void advance(float dt) {
+        // Age the window rather than advancing an absolute clock, which would lose precision over a long run
+        if (started) {
+            for (int i = 0; i < window; i++) times[i] -= dt;
+        }
+        next = next + 1 == window ? 0 : next + 1;
+        times[next] = 0;
+        if (count < window) count++;
+    }
+
+    @Override
+    protected void filter(int axis, float measured, float measuredRate, boolean gyro, float dt) {
+        int base = axis * window;
+        history[base + next] = measured;
+        int n = count;
+
+        // Values are centred on the newest reading, as the times already are, so yaw wrapping does no harm
+        float sumT = 0, sumV = 0, sumTT = 0, sumTV = 0;
+        for (int i = 0; i < n; i++) {
+            float t = times[i];
+            float v = SensorSample.wrapDegrees(history[base + i] - measured);
+            sumT += t;
+            sumV += v;
+            sumTT += t * t;
+            sumTV += t * v;
+        }
+        float denominator = n * sumTT - sumT * sumT;
+        float slope = denominator > 1e-12f ? (n * sumTV - sumT * sumV) / denominator : 0;
+        float intercept = (sumV - slope * sumT) / n;
+
+        value[axis] = SensorSample.wrapDegrees(measured + intercept);
+        rate[axis] = gyro ? measuredRate : slope;
+    }
+}
@@ -0,0 +1,94 @@
+package com.micheal.asteroids;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Screen;
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * First screen shown. Queues the game's texture atlas into its {@link AssetManager} and
+ * lets it decode in the background, spending at most a few milliseconds per frame on the
+ * GL side, while the percentage loaded is shown. There is no bar, as the one-pixel region
+ * bars are drawn with is in the atlas being loaded. Once everything is loaded the main menu
+ * is shown and the time from JVM start is logged.
+ */
+public class LoadingScreen implements Screen {
+
+    // Longest we let the AssetManager block the render thread per frame
+    private static final int LOAD_BUDGET_MILLIS = 8;
+
+    private final AsteroidsGame game;
+    private SpriteBatch batch;
+    private BitmapFont font;
+    private long loadStartNanos;
+    private final StringBuilder progress = new StringBuilder();
+
+    public LoadingScreen(AsteroidsGame game) {
+        this.game = game;
+    }
+
+    @Override
+    public void show() {
+        batch = game.getBatch();
+        // The game's font lives in the atlas being loaded, so this screen uses libGDX's built-in one
+        font = new BitmapFont();
+        loadStartNanos = System.nanoTime();
+        // Everything is drawn from the atlas. Its pages are loaded as dependencies, named by the
+        // .atlas file itself, and nothing else in assets/ is queued
+        game.getAssets().load(AsteroidsGame.ATLAS, TextureAtlas.class);
+    }
+
+    @Override
+    public void render(float delta) {
+        AssetManager assets = game.getAssets();
+        if (assets.update(LOAD_BUDGET_MILLIS)) {
+            game.assetsLoaded();
+            logStartupTime();
+            game.setScreen(new MainMenuScreen(game));
+            return;
+        }
+
+        Gdx.gl.glClearColor(0, 0, 0.15f, 1);
+        Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
+
+        float width = AsteroidsGame.WORLD_WIDTH;
+        float height = AsteroidsGame.WORLD_HEIGHT;
+        batch.begin();
+        font.draw(batch, "Loading...", width * 0.45f, height * 0.5f + 30);
+        font.draw(batch, progressText(assets.getProgress()), width * 0.45f, height * 0.5f);
+        batch.end();
+    }
+
+    private StringBuilder progressText(float fraction) {
+        progress.setLength(0);
+        return progress.append((int) (fraction * 100)).append('%');
+    }
+
+    private void logStartupTime() {
+        long loadMillis = (System.nanoTime() - loadStartNanos) / 1_000_000;
+        long sinceJvmStart = System.currentTimeMillis() - ManagementFactory.getRuntimeMXBean().getStartTime();
+        Gdx.app.log("Startup", "Interactive " + sinceJvmStart + " ms after JVM start (asset loading " + loadMillis + " ms)");
+    }
+
+    @Override
+    public void resize(int width, int height) {}
+
+    @Override
+    public void pause() {}
+
+    @Override
+    public void resume() {}
+
+    @Override
+    public void hide() {}
+
+    @Override
+    public void dispose() {
+        font.dispose();
+    }
+}
@@ -1,85 +1,200 @@
 package com.micheal.asteroids;
 import com.fazecast.jSerialComm.SerialPort;
-import java.io.InputStream;
-import java.util.Scanner;
 
-public class MPU6050Reader {
+/**
+ * One MPU6050 on a serial port. The {@link SensorHub} I/O thread services every reader in
+ * turn: it opens the port, decodes whatever bytes have arrived, runs each reading through
+ * a {@link SensorFilter} and queues it for the game, so the render thread only has to
+ * extrapolate the filtered orientation to display time.
+ *
+ * A port that is missing or gets unplugged is retried with exponential backoff, so
+ * controllers can be plugged in before or during a game.
+ */
+public class MPU6050Reader implements SensorSource {
+
+    private static final long MIN_BACKOFF_NANOS = 250_000_000L;
+    private static final long MAX_BACKOFF_NANOS = 4_000_000_000L;
+
+    private volatile String portName; // Null until the hub assigns a detected port
+    private final int baudRate;
     private SerialPort serialPort;
-    private volatile float roll = 0;
-    private volatile float pitch = 0;
-    private volatile float yaw = 0;
-    private Thread readerThread;
-    private boolean running = false;
+    private volatile boolean connected;
+    private long retryAt;
+    private long backoff = MIN_BACKOFF_NANOS;
+    private SensorHub hub;
+
+    // Error counts already reported to the event log
+    private EventLog events = EventLog.DISABLED;
+    private int device;
+    private long reportedInvalidLines, reportedCorruptFrames, reportedDroppedFrames, reportedQueueFull;
+
+    // Complete, timestamped readings handed from the I/O thread to the render thread
+    private final SensorRing samples = new SensorRing(256);
+
+    // Reused for every read; the decoder consumes bytes straight out of it
+    private final byte[] readBuffer = new byte[256];
+    private final SensorStreamDecoder decoder = new SensorStreamDecoder();
+    private final SensorFilter filter;
+    private final SensorSample reading = new SensorSample();
 
     public MPU6050Reader(String portName, int baudRate) {
-        serialPort = SerialPort.getCommPort(portName);
-        serialPort.setComPortParameters(baudRate, 8, SerialPort.ONE_STOP_BIT, SerialPort.NO_PARITY);
-        serialPort.setComPortTimeouts(SerialPort.TIMEOUT_SCANNER, 0, 0);
+        this(portName, baudRate, SensorFilter.NONE);
+    }
 
-        if (!serialPort.openPort()) {
-            throw new RuntimeException("Failed to open port " + portName);
-        }
-        System.out.println("Serial port opened: " + portName);
+    /** Creates a reader for {@code portName}, or for the next detected port if it is null. */
+    public MPU6050Reader(String portName, int baudRate, SensorFilter filter) {
+        this.portName = portName;
+        this.baudRate = baudRate;
+        this.filter = filter;
+    }
 
-        running = true;
-        readerThread = new Thread(this::readSerial);
-        readerThread.setDaemon(true);
-        readerThread.start();
+    /** Reports decode errors, overflows and port changes to {@code events} as device number {@code device}. */
+    public void setEventLog(EventLog events, int device) {
+        this.events = events;
+        this.device = device;
     }
 
-    private void readSerial() {
-        try (InputStream in = serialPort.getInputStream();
-             Scanner scanner = new Scanner(in)) {
+    void attach(SensorHub hub) {
+        this.hub = hub;
+    }
+
+    String getPortName() {
+        return portName;
+    }
+
+    /** Gives this reader a port found by hot-plug detection. I/O thread only. */
+    void assignPort(String portName) {
+        this.portName = portName;
+        events.sensorPort(device, EventLog.PortChange.DETECTED);
+    }
+
+    /**
+     * Does whatever this device needs next: reconnects once the backoff has expired, or
+     * reads and queues the bytes waiting on the port. Never blocks. I/O thread only.
+     * Returns true if any bytes were read.
+     */
+    boolean service(long now) {
+        if (serialPort == null) {
+            if (portName != null && now >= retryAt) connect(now);
+            return false;
+        }
+
+        int available = serialPort.bytesAvailable();
+        if (available == 0) return false;
+        int read = available < 0 ? -1 : serialPort.readBytes(readBuffer, Math.min(available, readBuffer.length));
+        if (read < 0) {
+            // Unplugged; start reconnecting with the shortest backoff
+            events.sensorError(device, EventLog.SensorError.PORT_LOST, 1);
+            disconnect();
+            retryAt = now + backoff;
+            return false;
+        }
 
-            while (running && scanner.hasNextLine()) {
-                String line = scanner.nextLine().trim();
-                parseLine(line);
+        long arrived = System.nanoTime();
+        for (int i = 0; i < read; i++) {
+            if (decoder.accept(readBuffer[i])) {
+                reading.set(decoder.roll(), decoder.pitch(), decoder.yaw(), arrived);
+                if (decoder.isBinary()) {
+                    short[] gyro = decoder.gyro();
+                    reading.setRates(gyro[0] / SensorFrame.GYRO_SCALE,
+                        gyro[1] / SensorFrame.GYRO_SCALE,
+                        gyro[2] / SensorFrame.GYRO_SCALE);
+                    reading.gyro = true;
+                }
+                filter.apply(reading);
+                samples.offer(reading);
             }
+        }
+        reportErrors();
+        return read > 0;
+    }
 
-        } catch (Exception e) {
-            e.printStackTrace();
+    /** Logs how many of each error happened since the last report. */
+    private void reportErrors() {
+        long invalidLines = decoder.invalidLines();
+        long corruptFrames = decoder.corruptFrames();
+        long droppedFrames = decoder.droppedFrames();
+        long queueFull = samples.dropped();
+        if (invalidLines != reportedInvalidLines) {
+            events.sensorError(device, EventLog.SensorError.INVALID_LINE, (int) (invalidLines - reportedInvalidLines));
+            reportedInvalidLines = invalidLines;
+        }
+        if (corruptFrames != reportedCorruptFrames) {
+            events.sensorError(device, EventLog.SensorError.CORRUPT_FRAME, (int) (corruptFrames - reportedCorruptFrames));
+            reportedCorruptFrames = corruptFrames;
+        }
+        if (droppedFrames != reportedDroppedFrames) {
+            events.sensorError(device, EventLog.SensorError.DROPPED_FRAMES, (int) (droppedFrames - reportedDroppedFrames));
+            reportedDroppedFrames = droppedFrames;
+        }
+        if (queueFull != reportedQueueFull) {
+            events.sensorError(device, EventLog.SensorError.QUEUE_FULL, (int) (queueFull - reportedQueueFull));
+            reportedQueueFull = queueFull;
         }
     }
 
-    private void parseLine(String line) {
-        String[] parts = line.split("/");
-        if (parts.length == 3) {
-            try {
-                roll = Float.parseFloat(parts[0]);
-                pitch = Float.parseFloat(parts[1]);
-                yaw = Float.parseFloat(parts[2]);
-            } catch (NumberFormatException e) {
-                System.err.println("Invalid data format: " + line);
-            }
-        } else {
-            System.err.println("Unexpected line format: " + line);
+    private void connect(long now) {
+        SerialPort port = SerialPort.getCommPort(portName);
+        port.setComPortParameters(baudRate, 8, SerialPort.ONE_STOP_BIT, SerialPort.NO_PARITY);
+        // The hub polls bytesAvailable, so reads only ever take what is already there
+        port.setComPortTimeouts(SerialPort.TIMEOUT_NONBLOCKING, 0, 0);
+        if (!port.openPort()) {
+            retryAt = now + backoff;
+            backoff = Math.min(backoff * 2, MAX_BACKOFF_NANOS);
+            return;
         }
+        events.sensorPort(device, EventLog.PortChange.OPENED);
+        serialPort = port;
+        connected = true;
+        backoff = MIN_BACKOFF_NANOS;
+    }
+
+    /** Closes the port if it is open. I/O thread only. */
+    void disconnect() {
+        if (serialPort == null) return;
+        serialPort.closePort();
+        serialPort = null;
+        connected = false;
+        events.sensorPort(device, EventLog.PortChange.CLOSED);
     }
 
-    // Accessors
-    public float getRoll() {
-        return roll;
+    /** True while the port is open. */
+    public boolean isConnected() {
+        return connected;
     }
 
-    public float getPitch() {
-        return pitch;
+    /**
+     * Takes the oldest sample not yet consumed into {@code out}, returning false when
+     * there are none. Call from a single consumer thread.
+     */
+    @Override
+    public boolean poll(SensorSample out) {
+        return samples.poll(out);
     }
 
-    public float getYaw() {
-        return yaw;
+    /** Samples dropped because the consumer fell behind. */
+    public long getDroppedSamples() {
+        return samples.dropped();
     }
 
-    // Close serial port cleanly
+    /** Text lines dropped as malformed so far. */
+    public long getInvalidLines() {
+        return decoder.invalidLines();
+    }
+
+    /** Binary frames rejected by their CRC so far. */
+    public long getCorruptFrames() {
+        return decoder.corruptFrames();
+    }
+
+    /** Binary frames the device sent that never arrived, from gaps in the sequence numbers. */
+    public long getDroppedFrames() {
+        return decoder.droppedFrames();
+    }
+
+    /** Releases this device. The hub stops and closes every port once all of its devices are released. */
+    @Override
     public void close() {
-        running = false;
-        if (readerThread != null && readerThread.isAlive()) {
-            try {
-                readerThread.join();
-            } catch (InterruptedException ignored) {}
-        }
-        if (serialPort != null && serialPort.isOpen()) {
-            serialPort.closePort();
-            System.out.println("Serial port closed.");
-        }
+        if (hub != null) hub.release();
     }
 }
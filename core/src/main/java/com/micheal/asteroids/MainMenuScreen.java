@@ -3,15 +3,18 @@ package com.micheal.asteroids;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Screen;
 import com.badlogic.gdx.graphics.GL20;
-import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.BitmapFontCache;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.Input;
 
 public class MainMenuScreen implements Screen {
 
+    // Skips the menu, for scripted runs with nobody at the keyboard
+    private static final boolean AUTO_START = Boolean.getBoolean("asteroids.autoStart");
+
     private final AsteroidsGame game;
     private SpriteBatch batch;
-    private BitmapFont font;
+    private BitmapFontCache text;
 
     public MainMenuScreen(AsteroidsGame game) {
         this.game = game;
@@ -19,8 +22,13 @@ public class MainMenuScreen implements Screen {
 
     @Override
     public void show() {
-        batch = new SpriteBatch();
-        font = new BitmapFont(); // Uses built-in font
+        // Shared with the other screens; owned and disposed by the game
+        batch = game.getBatch();
+        // The menu never changes, so it is laid out once
+        text = game.getFont().newFontCache();
+        text.addText("ASTEROIDS GAME", 100, 400);
+        text.addText("Press ENTER to Start", 100, 350);
+        text.addText("Press ESC to Exit", 100, 320);
     }
 
     @Override
@@ -29,12 +37,10 @@ public class MainMenuScreen implements Screen {
         Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
 
         batch.begin();
-        font.draw(batch, "ASTEROIDS GAME", 100, 400);
-        font.draw(batch, "Press ENTER to Start", 100, 350);
-        font.draw(batch, "Press ESC to Exit", 100, 320);
+        text.draw(batch);
         batch.end();
 
-        if (Gdx.input.isKeyJustPressed(Input.Keys.ENTER)) {
+        if (AUTO_START || Gdx.input.isKeyJustPressed(Input.Keys.ENTER)) {
             game.setScreen(new GameScreen(game));
         }
 
@@ -50,7 +56,6 @@ public class MainMenuScreen implements Screen {
 
     @Override
     public void dispose() {
-        batch.dispose();
-        font.dispose();
+        // Nothing of our own to release; the batch and font belong to the game
     }
 }
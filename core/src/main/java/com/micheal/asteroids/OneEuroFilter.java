@@ -0,0 +1,42 @@
+package com.micheal.asteroids;
+
+/**
+ * The One Euro filter (Casiez et al.): a low-pass filter whose cutoff rises with speed. Holding
+ * the sensor still gets heavy smoothing, which removes jitter around the control
+ * thresholds, while fast tilts get a high cutoff and little lag.
+ *
+ * {@code minCutoff} (Hz) sets the smoothing at rest; {@code beta} sets how quickly the
+ * cutoff rises with speed in degrees per second.
+ */
+public class OneEuroFilter extends AxisFilter {
+
+    private final float minCutoff;
+    private final float beta;
+    private final float rateCutoff;
+
+    public OneEuroFilter() {
+        this(1f, 0.3f, 1f);
+    }
+
+    public OneEuroFilter(float minCutoff, float beta, float rateCutoff) {
+        this.minCutoff = minCutoff;
+        this.beta = beta;
+        this.rateCutoff = rateCutoff;
+    }
+
+    @Override
+    protected void filter(int axis, float measured, float measuredRate, boolean gyro, float dt) {
+        if (!started) {
+            value[axis] = measured;
+            rate[axis] = gyro ? measuredRate : 0;
+            return;
+        }
+        float delta = SensorSample.wrapDegrees(measured - value[axis]);
+        // A gyro rate is clean enough to use as is; one estimated from noisy angles is smoothed first
+        if (gyro) rate[axis] = measuredRate;
+        else rate[axis] += smoothing(dt, rateCutoff) * (delta / dt - rate[axis]);
+
+        float cutoff = minCutoff + beta * Math.abs(rate[axis]);
+        value[axis] = SensorSample.wrapDegrees(value[axis] + smoothing(dt, cutoff) * delta);
+    }
+}
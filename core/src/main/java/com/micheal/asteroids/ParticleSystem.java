@@ -0,0 +1,216 @@
+package com.micheal.asteroids;
+
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.RandomXS128;
+import com.badlogic.gdx.utils.NumberUtils;
+
+/**
+ * Explosion and thrust particles, stored as parallel arrays sized once to a fixed budget.
+ * Particles are purely visual: they never collide, use their own random generator, and
+ * are updated once per rendered frame rather than per tick, so they don't affect the
+ * simulation or its replays.
+ *
+ * Once the budget is full new particles are dropped rather than evicting old ones, so a
+ * frame never does more particle work than the budget allows however large the waves get.
+ * Dead particles are swap-removed, which keeps the live range dense.
+ *
+ * Particles are drawn as tinted squares of a single atlas region, by writing sprite
+ * vertices straight into a small array and handing them to the batch a chunk at a time.
+ * The region comes from the same texture as the other sprites, so drawing them never
+ * flushes the batch for a texture switch.
+ */
+public class ParticleSystem {
+
+    /** Drops everything, for worlds that aren't drawn. */
+    public static final ParticleSystem DISABLED = new ParticleSystem(0, 0);
+
+    // Explosion and trail looks; colours are packed 0xBBGGRR as in libGDX's ABGR vertex colours
+    private static final int ASTEROID_DEBRIS = 0x5080c0;
+    private static final int SHIP_DEBRIS = 0x60d0ff;
+    private static final int THRUST_FLAME = 0x3090ff;
+    private static final int ASTEROID_PARTICLES = 24;
+    private static final int SHIP_PARTICLES = 64;
+    private static final float THRUST_RATE = 240f; // Particles per second per thrusting ship
+
+    // Fraction of its speed a particle keeps after one second
+    private static final float DAMPING = 0.25f;
+
+    // Floats per sprite in SpriteBatch's vertex layout: four corners of x, y, colour, u, v
+    private static final int SPRITE_SIZE = 20;
+    private static final int CHUNK_SPRITES = 256;
+
+    public float[] x, y, vx, vy;
+    // Seconds left to live, and 1 / total lifetime so the fade is a multiply
+    public float[] life, invLifetime;
+    public float[] diameter;
+    public int[] rgb;
+    public int size;
+
+    private final RandomXS128 random;
+    private final float[] vertices = new float[CHUNK_SPRITES * SPRITE_SIZE];
+
+    public ParticleSystem(int capacity, long seed) {
+        x = new float[capacity];
+        y = new float[capacity];
+        vx = new float[capacity];
+        vy = new float[capacity];
+        life = new float[capacity];
+        invLifetime = new float[capacity];
+        diameter = new float[capacity];
+        rgb = new int[capacity];
+        random = new RandomXS128(seed);
+    }
+
+    public int capacity() {
+        return x.length;
+    }
+
+    /** Adds a particle centred on (x, y), or drops it if the budget is used up. */
+    public boolean emit(float x, float y, float vx, float vy, float lifetime, float diameter, int rgb) {
+        if (this.size == this.x.length) return false;
+        int i = this.size++;
+        this.x[i] = x;
+        this.y[i] = y;
+        this.vx[i] = vx;
+        this.vy[i] = vy;
+        life[i] = lifetime;
+        invLifetime[i] = 1f / lifetime;
+        this.diameter[i] = diameter;
+        this.rgb[i] = rgb;
+        return true;
+    }
+
+    /** Bursts {@code count} particles outward from (x, y) at up to {@code speed}. */
+    public void burst(float x, float y, int count, float speed, float lifetime, float diameter, int rgb) {
+        for (int n = 0; n < count && this.size < this.x.length; n++) {
+            float angle = random.nextFloat() * MathUtils.PI2;
+            // Squaring spreads the burst into a filled disc with a bright core
+            float s = speed * (1f - random.nextFloat() * random.nextFloat());
+            emit(x, y, MathUtils.cos(angle) * s, MathUtils.sin(angle) * s,
+                lifetime * (0.5f + random.nextFloat() * 0.5f), diameter, rgb);
+        }
+    }
+
+    /** Debris from an asteroid destroyed at (x, y). */
+    public void asteroidExplosion(float x, float y) {
+        burst(x, y, ASTEROID_PARTICLES, 240f, 0.8f, 4f, ASTEROID_DEBRIS);
+    }
+
+    /** Debris from a ship hit at (x, y). */
+    public void shipExplosion(float x, float y) {
+        burst(x, y, SHIP_PARTICLES, 320f, 1.2f, 5f, SHIP_DEBRIS);
+    }
+
+    /** A frame's worth of exhaust from a thrusting ship, streaming out behind it. */
+    public void thrust(Ship ship, float delta) {
+        float headingX = ship.headingX();
+        float headingY = ship.headingY();
+        float tailX = ship.x - headingX * ship.radius;
+        float tailY = ship.y - headingY * ship.radius;
+        // Whole particles per frame on average, whatever the frame rate
+        int count = (int) (THRUST_RATE * delta + random.nextFloat());
+        for (int n = 0; n < count; n++) {
+            float speed = 150f + random.nextFloat() * 100f;
+            float spread = (random.nextFloat() - 0.5f) * 0.6f;
+            float dirX = -headingX - headingY * spread;
+            float dirY = -headingY + headingX * spread;
+            if (!emit(tailX, tailY, ship.velocityX + dirX * speed, ship.velocityY + dirY * speed,
+                0.25f + random.nextFloat() * 0.15f, 3f, THRUST_FLAME)) return;
+        }
+    }
+
+    /** Moves and ages every particle, removing those whose time is up. */
+    public void update(float delta) {
+        float[] x = this.x, y = this.y, vx = this.vx, vy = this.vy, life = this.life;
+        float damping = (float) Math.pow(DAMPING, delta);
+        int i = 0;
+        while (i < size) {
+            float remaining = life[i] - delta;
+            if (remaining <= 0f) {
+                remove(i); // The last particle moves into i and is updated next
+                continue;
+            }
+            life[i] = remaining;
+            vx[i] *= damping;
+            vy[i] *= damping;
+            x[i] += vx[i] * delta;
+            y[i] += vy[i] * delta;
+            i++;
+        }
+    }
+
+    private void remove(int i) {
+        int last = --size;
+        x[i] = x[last];
+        y[i] = y[last];
+        vx[i] = vx[last];
+        vy[i] = vy[last];
+        life[i] = life[last];
+        invLifetime[i] = invLifetime[last];
+        diameter[i] = diameter[last];
+        rgb[i] = rgb[last];
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Draws every particle as a square of {@code region}, fading out over its lifetime. The
+     * batch must be drawing, and its colour is ignored.
+     */
+    public void draw(Batch batch, TextureRegion region) {
+        for (int from = 0; from < size; from += CHUNK_SPRITES) {
+            int count = writeVertices(from, Math.min(size, from + CHUNK_SPRITES), region, vertices);
+            batch.draw(region.getTexture(), vertices, 0, count);
+        }
+    }
+
+    /**
+     * Writes SpriteBatch vertices for particles {@code from} up to {@code to} into
+     * {@code out} and returns the number of floats written.
+     */
+    public int writeVertices(int from, int to, TextureRegion region, float[] out) {
+        // Sample the middle of the region so filtering never picks up its neighbours
+        float u = (region.getU() + region.getU2()) / 2f;
+        float v = (region.getV() + region.getV2()) / 2f;
+        float[] x = this.x, y = this.y, life = this.life, invLifetime = this.invLifetime, diameter = this.diameter;
+        int[] rgb = this.rgb;
+        int idx = 0;
+        for (int i = from; i < to; i++) {
+            float half = diameter[i] / 2f;
+            float x1 = x[i] - half, y1 = y[i] - half;
+            float x2 = x[i] + half, y2 = y[i] + half;
+            int alpha = (int) (255f * life[i] * invLifetime[i]);
+            float color = NumberUtils.intToFloatColor(alpha << 24 | rgb[i]);
+
+            out[idx] = x1;
+            out[idx + 1] = y1;
+            out[idx + 2] = color;
+            out[idx + 3] = u;
+            out[idx + 4] = v;
+
+            out[idx + 5] = x1;
+            out[idx + 6] = y2;
+            out[idx + 7] = color;
+            out[idx + 8] = u;
+            out[idx + 9] = v;
+
+            out[idx + 10] = x2;
+            out[idx + 11] = y2;
+            out[idx + 12] = color;
+            out[idx + 13] = u;
+            out[idx + 14] = v;
+
+            out[idx + 15] = x2;
+            out[idx + 16] = y1;
+            out[idx + 17] = color;
+            out[idx + 18] = u;
+            out[idx + 19] = v;
+            idx += SPRITE_SIZE;
+        }
+        return idx;
+    }
+}
@@ -0,0 +1,19 @@
+package com.micheal.asteroids;
+
+/**
+ * Controls for one ship for a single simulation step, already reduced from whatever
+ * device produced them (tilt sensor, keyboard, autopilot).
+ */
+public class PlayerInput {
+
+    /** Turn direction: positive turns counter-clockwise, negative clockwise, 0 holds heading. */
+    public float turn;
+    public boolean thrust;
+    public boolean fire;
+
+    public void clear() {
+        turn = 0;
+        thrust = false;
+        fire = false;
+    }
+}
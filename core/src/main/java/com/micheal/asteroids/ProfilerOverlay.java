@@ -0,0 +1,74 @@
+package com.micheal.asteroids;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+
+/**
+ * Draws a {@link FrameProfiler}'s history as a stacked bar per frame, one colour per
+ * phase, with a line at the 60 FPS budget and a legend of per-phase averages. Drawn in
+ * the caller's batch using a one-pixel atlas region, so it adds no texture binds.
+ */
+public class ProfilerOverlay {
+
+    private static final float BUDGET_NANOS = 1_000_000_000f / 60f;
+    private static final float PIXELS_PER_MILLI = 6f;
+    private static final float BAR_WIDTH = 2f;
+    private static final int AVERAGE_WINDOW = 60;
+    private static final FrameProfiler.Phase[] PHASES = FrameProfiler.Phase.values();
+
+    private static final Color[] PHASE_COLORS = {
+        new Color(0.9f, 0.9f, 0.9f, 1f), // input
+        new Color(1f, 0.85f, 0.2f, 1f),  // bullets
+        new Color(0.3f, 0.6f, 1f, 1f),   // player
+        new Color(0.6f, 0.4f, 0.2f, 1f), // asteroids
+        new Color(0.7f, 0.3f, 0.9f, 1f), // broadphase
+        new Color(1f, 0.3f, 0.3f, 1f),   // player hits
+        new Color(1f, 0.55f, 0.1f, 1f),  // bullet hits
+        new Color(0.2f, 0.9f, 0.9f, 1f), // waves
+        new Color(0.3f, 0.9f, 0.3f, 1f), // render
+    };
+
+    private final TextureRegion pixel;
+    private final StringBuilder text = new StringBuilder();
+
+    public ProfilerOverlay(TextureRegion pixel) {
+        this.pixel = pixel;
+    }
+
+    /** Draws the graph with its bottom-left corner at (x, y). */
+    public void draw(Batch batch, BitmapFont font, FrameProfiler profiler, float x, float y) {
+        float pixelsPerNano = PIXELS_PER_MILLI / 1_000_000f;
+        int frames = profiler.size();
+
+        for (int f = 0; f < frames; f++) {
+            float barX = x + (profiler.capacity() - frames + f) * BAR_WIDTH;
+            float barY = y;
+            for (int p = 0; p < PHASES.length; p++) {
+                float h = profiler.phaseNanos(f, PHASES[p]) * pixelsPerNano;
+                if (h <= 0) continue;
+                batch.setColor(PHASE_COLORS[p]);
+                batch.draw(pixel, barX, barY, BAR_WIDTH, h);
+                barY += h;
+            }
+        }
+
+        // Frame budget line
+        batch.setColor(Color.RED);
+        batch.draw(pixel, x, y + BUDGET_NANOS * pixelsPerNano, profiler.capacity() * BAR_WIDTH, 1f);
+        batch.setColor(Color.WHITE);
+
+        float legendX = x + profiler.capacity() * BAR_WIDTH + 10f;
+        float lineHeight = font.getLineHeight();
+        for (int p = 0; p < PHASES.length; p++) {
+            text.setLength(0);
+            text.append(PHASES[p].label).append(' ');
+            InputLatency.appendMillis(text, profiler.averagePhaseNanos(PHASES[p], AVERAGE_WINDOW));
+            text.append(" ms");
+            font.setColor(PHASE_COLORS[p]);
+            font.draw(batch, text, legendX, y + (PHASES.length - p) * lineHeight);
+        }
+        font.setColor(Color.WHITE);
+    }
+}
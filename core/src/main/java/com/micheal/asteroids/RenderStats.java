@@ -0,0 +1,43 @@
+package com.micheal.asteroids;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.profiling.GLProfiler;
+
+/**
+ * Per-frame GL counters (draw calls, texture binds, vertices) from libGDX's
+ * {@link GLProfiler}. Profiling wraps every GL call, so it only runs while enabled.
+ */
+public class RenderStats {
+
+    private final GLProfiler profiler = new GLProfiler(Gdx.graphics);
+
+    // Counters for the last completed frame
+    private int drawCalls;
+    private int textureBindings;
+    private int vertices;
+
+    public void setEnabled(boolean enabled) {
+        if (enabled) profiler.enable();
+        else profiler.disable();
+        profiler.reset();
+    }
+
+    public boolean isEnabled() {
+        return profiler.isEnabled();
+    }
+
+    /** Latches the counters of the frame that just finished and starts counting a new one. */
+    public void beginFrame() {
+        if (!profiler.isEnabled()) return;
+        drawCalls = profiler.getDrawCalls();
+        textureBindings = profiler.getTextureBindings();
+        vertices = (int) profiler.getVertexCount().total;
+        profiler.reset();
+    }
+
+    public StringBuilder appendSummary(StringBuilder out) {
+        return out.append("draw calls ").append(drawCalls)
+            .append("  texture binds ").append(textureBindings)
+            .append("  vertices ").append(vertices);
+    }
+}
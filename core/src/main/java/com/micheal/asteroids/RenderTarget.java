@@ -0,0 +1,99 @@
+package com.micheal.asteroids;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.graphics.glutils.FrameBuffer;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.viewport.Viewport;
+
+/**
+ * An offscreen buffer the world is drawn into at a reduced resolution and then stretched
+ * over the viewport, so on fill rate bound GPUs the cost of a frame follows the
+ * {@link ResolutionScaler}'s scale rather than the window size.
+ *
+ * The buffer is allocated once at the viewport's full size in pixels, and each frame only
+ * draws into its bottom-left corner at the current scale, so changing the scale never
+ * reallocates. It is only recreated when the window is resized.
+ */
+public class RenderTarget implements Disposable {
+
+    private final Viewport viewport;
+    private final ResolutionScaler scaler;
+    private final TextureRegion region = new TextureRegion();
+    private FrameBuffer frameBuffer;
+    private int width, height; // Pixels drawn this frame
+    private long lastFrame;
+
+    public RenderTarget(Viewport viewport, ResolutionScaler scaler) {
+        this.viewport = viewport;
+        this.scaler = scaler;
+    }
+
+    /** Resizes the viewport to the new window size and the buffer to match it. */
+    public void resize(int screenWidth, int screenHeight) {
+        viewport.update(screenWidth, screenHeight, true);
+        int bufferWidth = Math.max(1, viewport.getScreenWidth());
+        int bufferHeight = Math.max(1, viewport.getScreenHeight());
+        if (frameBuffer != null && frameBuffer.getWidth() == bufferWidth && frameBuffer.getHeight() == bufferHeight) return;
+        if (frameBuffer != null) frameBuffer.dispose();
+        frameBuffer = new FrameBuffer(Pixmap.Format.RGB888, bufferWidth, bufferHeight, false);
+        frameBuffer.getColorBufferTexture().setFilter(Texture.TextureFilter.Linear, Texture.TextureFilter.Linear);
+    }
+
+    /**
+     * Starts drawing into the buffer at the scale chosen from the frame times so far. The
+     * projection is unchanged: the world still spans the whole (smaller) drawing area.
+     */
+    public void begin() {
+        long now = System.nanoTime();
+        if (lastFrame != 0) scaler.frame(now - lastFrame, now);
+        lastFrame = now;
+
+        float scale = scaler.scale();
+        width = Math.max(1, Math.round(frameBuffer.getWidth() * scale));
+        height = Math.max(1, Math.round(frameBuffer.getHeight() * scale));
+        frameBuffer.begin();
+        Gdx.gl.glViewport(0, 0, width, height);
+    }
+
+    /** Stops drawing into the buffer and stretches what was drawn over the viewport. */
+    public void end(SpriteBatch batch) {
+        frameBuffer.end();
+        // Clears the letterbox bars; the picture covers the rest
+        Gdx.gl.glClearColor(0, 0, 0, 1);
+        Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
+        viewport.apply();
+
+        // Buffers are stored bottom row first, so the region is flipped to draw upright
+        region.setRegion(frameBuffer.getColorBufferTexture());
+        region.setRegion(0, 0, width, height);
+        region.flip(false, true);
+        batch.disableBlending();
+        batch.begin();
+        batch.draw(region, 0, 0, viewport.getWorldWidth(), viewport.getWorldHeight());
+        batch.end();
+        batch.enableBlending();
+    }
+
+    /**
+     * Forgets when the last frame was drawn, so time spent not drawing into the buffer, in
+     * menus or while paused, is not taken for one very slow frame.
+     */
+    public void reset() {
+        lastFrame = 0;
+    }
+
+    /** Fraction of the full resolution being rendered, per axis. */
+    public float getScale() {
+        return scaler.scale();
+    }
+
+    @Override
+    public void dispose() {
+        if (frameBuffer != null) frameBuffer.dispose();
+    }
+}
@@ -0,0 +1,98 @@
+package com.micheal.asteroids;
+
+/**
+ * Picks the internal render scale that holds a frame time target. Frame times are
+ * smoothed; when they run over budget the scale drops a step, and after a stretch on
+ * budget it probes a step back up. A probe that fails doubles the wait before the next
+ * one, so a machine that cannot hold a scale stops flickering between it and the one
+ * below.
+ *
+ * Only frame intervals are measured, so under vsync a frame that is on budget looks the
+ * same however much headroom it had; the probes are what find out whether there is some.
+ */
+public class ResolutionScaler {
+
+    private static final float STEP = 0.1f;
+    private static final float SMOOTHING = 0.1f;
+    // Smoothed frame time, as a multiple of the target, above which the scale drops
+    private static final float OVER_BUDGET = 1.1f;
+    // And at or below which the frame counts as on budget
+    private static final float ON_BUDGET = 1.02f;
+    // Frames right after a change still show the old cost, so they are ignored
+    private static final long SETTLE_NANOS = 500_000_000L;
+    private static final long MIN_PROBE_NANOS = 2_000_000_000L;
+    private static final long MAX_PROBE_NANOS = 32_000_000_000L;
+
+    private final float targetNanos;
+    private final float minScale;
+    private final float maxScale;
+
+    private float scale;
+    private float smoothedNanos;
+    private long changedAt;
+    private long onBudgetSince;
+    private long probeDelay = MIN_PROBE_NANOS;
+    private boolean probing;
+
+    public ResolutionScaler(float targetFps, float minScale, float maxScale) {
+        if (minScale <= 0 || minScale > maxScale) {
+            throw new IllegalArgumentException("Invalid render scale range: " + minScale + " to " + maxScale);
+        }
+        this.targetNanos = 1_000_000_000f / targetFps;
+        this.minScale = minScale;
+        this.maxScale = maxScale;
+        scale = maxScale;
+    }
+
+    /**
+     * Targets {@code asteroids.targetFps} (default 60) with scales from
+     * {@code asteroids.minRenderScale} (default 0.5) to 1. A minimum of 1 turns scaling off.
+     */
+    public static ResolutionScaler fromSystemProperties() {
+        float targetFps = Float.parseFloat(System.getProperty("asteroids.targetFps", "60"));
+        float minScale = Float.parseFloat(System.getProperty("asteroids.minRenderScale", "0.5"));
+        return new ResolutionScaler(targetFps, minScale, 1f);
+    }
+
+    /** Fraction of the full resolution to render at, per axis. */
+    public float scale() {
+        return scale;
+    }
+
+    /** Records a frame that took {@code frameNanos}, ending at {@code now}, and adjusts the scale. */
+    public void frame(long frameNanos, long now) {
+        smoothedNanos = smoothedNanos == 0 ? frameNanos : smoothedNanos + (frameNanos - smoothedNanos) * SMOOTHING;
+        if (now - changedAt < SETTLE_NANOS) {
+            onBudgetSince = now;
+            return;
+        }
+
+        if (smoothedNanos > targetNanos * OVER_BUDGET) {
+            if (scale > minScale) {
+                if (probing) probeDelay = Math.min(probeDelay * 2, MAX_PROBE_NANOS);
+                change(Math.max(minScale, scale - STEP), now);
+                probing = false;
+            }
+            onBudgetSince = now;
+        } else if (smoothedNanos <= targetNanos * ON_BUDGET) {
+            if (probing && now - onBudgetSince >= MIN_PROBE_NANOS) {
+                // The last step up held, so the next one may come as soon as usual
+                probing = false;
+                probeDelay = MIN_PROBE_NANOS;
+            }
+            if (scale < maxScale && now - onBudgetSince >= probeDelay) {
+                change(Math.min(maxScale, scale + STEP), now);
+                probing = true;
+            }
+        } else {
+            onBudgetSince = now;
+        }
+    }
+
+    private void change(float newScale, long now) {
+        scale = newScale;
+        changedAt = now;
+        onBudgetSince = now;
+        smoothedNanos = 0;
+    }
+}
@@ -0,0 +1,15 @@
+package com.micheal.asteroids;
+
+/**
+ * Smooths or predicts sensor readings where they are produced, before they are queued for
+ * the game. A filter replaces the sample's orientation with its estimate and fills in the
+ * rates, which the consumer uses to extrapolate to display time. Filters keep state
+ * between samples, so each source needs its own instance.
+ */
+public interface SensorFilter {
+
+    /** Passes readings through; rates are only set when the gyroscope measured them. */
+    SensorFilter NONE = sample -> { };
+
+    void apply(SensorSample sample);
+}
@@ -0,0 +1,75 @@
+package com.micheal.asteroids;
+
+/**
+ * The MPU6050's binary frame format, an alternative to the {@code roll/pitch/yaw} text lines
+ * that fits several times more samples through the same serial link:
+ *
+ * <pre>
+ * offset  size  field
+ *      0     1  sync byte 0xA5 (never appears in the ASCII format)
+ *      1     6  roll, pitch, yaw: int16 little-endian, hundredths of a degree
+ *      7     6  accel x, y, z: int16 little-endian, raw sensor counts
+ *     13     6  gyro x, y, z: int16 little-endian, raw sensor counts at the +-250 deg/s range,
+ *                so {@link #GYRO_SCALE} counts per degree per second
+ *     19     1  sequence number, incremented per frame and wrapping at 255
+ *     20     1  CRC-8 (polynomial 0x07, initial value 0) of bytes 1 to 19
+ * </pre>
+ *
+ * {@link #encode} writes frames in this format, for firmware reference and for generating
+ * test streams without a device.
+ */
+public final class SensorFrame {
+
+    public static final byte SYNC = (byte) 0xA5;
+    public static final int LENGTH = 21;
+    public static final float ANGLE_SCALE = 100f;
+    public static final float GYRO_SCALE = 131f;
+
+    private static final int[] CRC_TABLE = new int[256];
+    static {
+        for (int i = 0; i < 256; i++) {
+            int crc = i;
+            for (int bit = 0; bit < 8; bit++) {
+                crc = (crc & 0x80) != 0 ? (crc << 1) ^ 0x07 : crc << 1;
+            }
+            CRC_TABLE[i] = crc & 0xFF;
+        }
+    }
+
+    private SensorFrame() {
+    }
+
+    /** CRC-8 of {@code length} bytes starting at {@code offset}. */
+    public static int crc8(byte[] data, int offset, int length) {
+        int crc = 0;
+        for (int i = offset, end = offset + length; i < end; i++) {
+            crc = CRC_TABLE[(crc ^ data[i]) & 0xFF];
+        }
+        return crc;
+    }
+
+    /** Reads the little-endian int16 at {@code offset}. */
+    static int readShort(byte[] data, int offset) {
+        return (short) ((data[offset] & 0xFF) | (data[offset + 1] << 8));
+    }
+
+    /** Writes one frame of {@link #LENGTH} bytes at {@code offset}. Angles are in degrees. */
+    public static void encode(byte[] out, int offset, float roll, float pitch, float yaw,
+                              short[] accel, short[] gyro, int sequence) {
+        out[offset] = SYNC;
+        writeShort(out, offset + 1, Math.round(roll * ANGLE_SCALE));
+        writeShort(out, offset + 3, Math.round(pitch * ANGLE_SCALE));
+        writeShort(out, offset + 5, Math.round(yaw * ANGLE_SCALE));
+        for (int i = 0; i < 3; i++) {
+            writeShort(out, offset + 7 + i * 2, accel[i]);
+            writeShort(out, offset + 13 + i * 2, gyro[i]);
+        }
+        out[offset + 19] = (byte) sequence;
+        out[offset + 20] = (byte) crc8(out, offset + 1, 19);
+    }
+
+    private static void writeShort(byte[] out, int offset, int value) {
+        out[offset] = (byte) value;
+        out[offset + 1] = (byte) (value >> 8);
+    }
+}
@@ -0,0 +1,100 @@
+package com.micheal.asteroids;
+
+import com.fazecast.jSerialComm.SerialPort;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Runs any number of {@link MPU6050Reader}s on one I/O thread. Each pass services every
+ * device without blocking, and the thread only sleeps (for {@link #IDLE_NANOS}) after a
+ * pass in which no device had data, so an extra controller costs one
+ * {@code bytesAvailable} call per pass rather than a thread of its own.
+ *
+ * Readers created without a port name are filled in by hot-plug detection: the hub scans
+ * the system's serial ports every second and hands each new one to the next free reader.
+ */
+public class SensorHub {
+
+    private static final long IDLE_NANOS = 1_000_000L;
+    private static final long SCAN_INTERVAL_NANOS = 1_000_000_000L;
+
+    private final MPU6050Reader[] devices;
+    private final boolean detect;
+    private final AtomicInteger attached;
+    private final Thread thread;
+    private volatile boolean running = true;
+    private long nextScan;
+
+    public SensorHub(MPU6050Reader... devices) {
+        this.devices = devices;
+        boolean unassigned = false;
+        for (MPU6050Reader device : devices) {
+            device.attach(this);
+            unassigned |= device.getPortName() == null;
+        }
+        detect = unassigned;
+        attached = new AtomicInteger(devices.length);
+
+        thread = new Thread(this::run, "sensor-hub");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void run() {
+        try {
+            while (running) {
+                long now = System.nanoTime();
+                if (detect && now >= nextScan) {
+                    scan();
+                    nextScan = now + SCAN_INTERVAL_NANOS;
+                }
+                boolean busy = false;
+                for (MPU6050Reader device : devices) {
+                    busy |= device.service(now);
+                }
+                if (!busy) LockSupport.parkNanos(IDLE_NANOS);
+            }
+        } catch (Exception e) {
+            e.printStackTrace();
+        } finally {
+            for (MPU6050Reader device : devices) device.disconnect();
+        }
+    }
+
+    /** Hands ports that have appeared since the last scan to readers still waiting for one. */
+    private void scan() {
+        for (SerialPort port : SerialPort.getCommPorts()) {
+            String name = port.getSystemPortName();
+            if (isClaimed(name)) continue;
+            for (MPU6050Reader device : devices) {
+                if (device.getPortName() == null) {
+                    device.assignPort(name);
+                    break;
+                }
+            }
+        }
+    }
+
+    private boolean isClaimed(String name) {
+        for (MPU6050Reader device : devices) {
+            if (name.equals(device.getPortName())) return true;
+        }
+        return false;
+    }
+
+    /** Called as each device is closed; the last one stops the hub. */
+    void release() {
+        if (attached.decrementAndGet() == 0) close();
+    }
+
+    /** Stops the I/O thread and closes every port. */
+    public void close() {
+        running = false;
+        if (thread.isAlive() && Thread.currentThread() != thread) {
+            try {
+                thread.join();
+            } catch (InterruptedException ignored) {}
+        }
+    }
+}
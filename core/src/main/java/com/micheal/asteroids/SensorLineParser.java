@@ -0,0 +1,136 @@
+package com.micheal.asteroids;
+
+/**
+ * Incremental, allocation-free parser for the MPU6050's {@code roll/pitch/yaw} text lines,
+ * for example {@code 12.3/-4.5/0.7\r\n}. Bytes are fed one at a time straight from the
+ * serial read buffer; {@link #accept(byte)} returns true when a line has completed and
+ * the parsed angles are available from {@link #roll()}, {@link #pitch()} and {@link #yaw()}.
+ *
+ * Malformed lines are skipped and counted rather than reported individually.
+ */
+public class SensorLineParser {
+
+    private static final int FIELDS = 3;
+    // Longest line we expect from the sensor; anything longer is garbage (e.g. a baud mismatch)
+    private static final int MAX_LINE_LENGTH = 64;
+    // Digits beyond this would overflow the mantissa and are far below sensor precision anyway
+    private static final int MAX_DIGITS = 18;
+
+    private static final float[] POWERS_OF_TEN = new float[MAX_DIGITS + 1];
+    static {
+        POWERS_OF_TEN[0] = 1f;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10f;
+    }
+
+    private final float[] values = new float[FIELDS];
+
+    // State of the line being parsed
+    private int field;
+    private int lineLength;
+    private boolean content;
+    private boolean invalid;
+    private boolean negative;
+    private boolean seenDigit;
+    private boolean seenDot;
+    private long mantissa;
+    private int digits;
+    private int fractionDigits;
+
+    private float roll, pitch, yaw;
+    private long invalidLines;
+
+    /** Feeds one byte. Returns true if it completed a valid line. */
+    public boolean accept(byte b) {
+        if (b == '\n') return endLine();
+        if (++lineLength > MAX_LINE_LENGTH) invalid = true;
+        if (b != ' ' && b != '\t' && b != '\r') content = true;
+        if (invalid) return false;
+
+        if (b >= '0' && b <= '9') {
+            if (digits < MAX_DIGITS) {
+                mantissa = mantissa * 10 + (b - '0');
+                digits++;
+                if (seenDot) fractionDigits++;
+            } else if (!seenDot) {
+                invalid = true; // Integer part too large to be an angle
+            }
+            seenDigit = true;
+        } else if (b == '.') {
+            if (seenDot) invalid = true;
+            seenDot = true;
+        } else if (b == '-' || b == '+') {
+            if (seenDigit || seenDot || negative) invalid = true;
+            negative = b == '-';
+        } else if (b == '/') {
+            if (!endField()) invalid = true;
+        } else if (b != ' ' && b != '\t' && b != '\r') {
+            invalid = true;
+        }
+        return false;
+    }
+
+    /** Feeds {@code length} bytes starting at {@code offset}. Returns the number of valid lines completed. */
+    public int accept(byte[] buffer, int offset, int length) {
+        int lines = 0;
+        for (int i = offset, end = offset + length; i < end; i++) {
+            if (accept(buffer[i])) lines++;
+        }
+        return lines;
+    }
+
+    private boolean endField() {
+        if (!seenDigit || field >= FIELDS) return false;
+        float value = mantissa / POWERS_OF_TEN[fractionDigits];
+        values[field++] = negative ? -value : value;
+        negative = false;
+        seenDigit = false;
+        seenDot = false;
+        mantissa = 0;
+        digits = 0;
+        fractionDigits = 0;
+        return true;
+    }
+
+    private boolean endLine() {
+        boolean valid = content && !invalid && endField() && field == FIELDS;
+        if (valid) {
+            roll = values[0];
+            pitch = values[1];
+            yaw = values[2];
+        } else if (content) {
+            invalidLines++;
+        }
+        reset();
+        return valid;
+    }
+
+    private void reset() {
+        field = 0;
+        lineLength = 0;
+        content = false;
+        invalid = false;
+        negative = false;
+        seenDigit = false;
+        seenDot = false;
+        mantissa = 0;
+        digits = 0;
+        fractionDigits = 0;
+    }
+
+    public float roll() {
+        return roll;
+    }
+
+    public float pitch() {
+        return pitch;
+    }
+
+    public float yaw() {
+        return yaw;
+    }
+
+    /** Number of non-empty lines rejected as malformed since this parser was created. */
+    public long invalidLines() {
+        return invalidLines;
+    }
+}
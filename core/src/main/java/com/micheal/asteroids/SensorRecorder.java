@@ -0,0 +1,70 @@
+package com.micheal.asteroids;
+
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Passes samples through from another source while appending each one to a recording
+ * file that {@link SensorReplay} can play back. Writes go through a reused buffer that
+ * is flushed when full, so recording does not allocate per sample.
+ */
+public class SensorRecorder implements SensorSource {
+
+    private final SensorSource source;
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(SensorRecording.RECORD_BYTES * 256);
+    private long firstNanos = -1;
+
+    public SensorRecorder(SensorSource source, Path file) {
+        this.source = source;
+        try {
+            channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Failed to create sensor recording " + file, e);
+        }
+        buffer.putInt(SensorRecording.MAGIC).putInt(SensorRecording.VERSION);
+    }
+
+    @Override
+    public boolean poll(SensorSample out) {
+        if (!source.poll(out)) return false;
+        if (firstNanos < 0) firstNanos = out.nanos;
+        if (buffer.remaining() < SensorRecording.RECORD_BYTES) flush();
+        buffer.putLong(out.nanos - firstNanos)
+            .putFloat(out.roll)
+            .putFloat(out.pitch)
+            .putFloat(out.yaw)
+            .putFloat(out.rollRate)
+            .putFloat(out.pitchRate)
+            .putFloat(out.yawRate)
+            .put((byte) (out.gyro ? 1 : 0));
+        return true;
+    }
+
+    private void flush() {
+        buffer.flip();
+        try {
+            while (buffer.hasRemaining()) channel.write(buffer);
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Failed to write sensor recording", e);
+        }
+        buffer.clear();
+    }
+
+    @Override
+    public void close() {
+        source.close();
+        try {
+            flush();
+            channel.close();
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Failed to close sensor recording", e);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.micheal.asteroids;
+
+/**
+ * Binary layout shared by {@link SensorRecorder} and {@link SensorReplay}: a header of
+ * {@link #MAGIC} and {@link #VERSION}, then one fixed-size big-endian record per sample of
+ * nanoseconds since the first sample, roll, pitch and yaw, their rates as floats, and a byte
+ * that is 1 when the rates came from the gyroscope.
+ */
+final class SensorRecording {
+
+    static final int MAGIC = 0x4D505552; // "MPUR"
+    static final int VERSION = 2;
+    static final int HEADER_BYTES = 8;
+    static final int RECORD_BYTES = 8 + 6 * 4 + 1;
+
+    private SensorRecording() {
+    }
+}
@@ -0,0 +1,77 @@
+package com.micheal.asteroids;
+
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Plays back a file written by {@link SensorRecorder}, releasing each sample once its
+ * recorded offset has elapsed, scaled by {@code speed} (2 plays twice as fast). The file is
+ * memory-mapped, so replay reads samples in place without I/O calls or allocation.
+ *
+ * Replayed samples are stamped with the current clock, so latency measurements keep
+ * working, and keep their recorded rates. They can pass through a {@link SensorFilter}
+ * as live readings do, for recordings of raw readings. When the recording ends the
+ * source either starts over or goes quiet.
+ */
+public class SensorReplay implements SensorSource {
+
+    private final MappedByteBuffer data;
+    private final double speed;
+    private final boolean loop;
+    private final SensorFilter filter;
+    private long startNanos = -1;
+
+    public SensorReplay(Path file, double speed, boolean loop) {
+        this(file, speed, loop, SensorFilter.NONE);
+    }
+
+    public SensorReplay(Path file, double speed, boolean loop, SensorFilter filter) {
+        this.filter = filter;
+        if (speed <= 0) throw new IllegalArgumentException("speed must be positive: " + speed);
+        this.speed = speed;
+        this.loop = loop;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            data = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Failed to open sensor recording " + file, e);
+        }
+        if (data.remaining() < SensorRecording.HEADER_BYTES
+            || data.getInt() != SensorRecording.MAGIC
+            || data.getInt() != SensorRecording.VERSION) {
+            throw new GdxRuntimeException("Not a version " + SensorRecording.VERSION + " sensor recording: " + file);
+        }
+    }
+
+    @Override
+    public boolean poll(SensorSample out) {
+        long now = System.nanoTime();
+        if (startNanos < 0) startNanos = now;
+
+        if (data.remaining() < SensorRecording.RECORD_BYTES) {
+            if (!loop || data.limit() == SensorRecording.HEADER_BYTES) return false;
+            data.position(SensorRecording.HEADER_BYTES);
+            startNanos = now;
+        }
+
+        int record = data.position();
+        long offset = (long) (data.getLong(record) / speed);
+        if (now - startNanos < offset) return false;
+
+        out.set(data.getFloat(record + 8), data.getFloat(record + 12), data.getFloat(record + 16), now);
+        out.setRates(data.getFloat(record + 20), data.getFloat(record + 24), data.getFloat(record + 28));
+        out.gyro = data.get(record + 32) != 0;
+        filter.apply(out);
+        data.position(record + SensorRecording.RECORD_BYTES);
+        return true;
+    }
+
+    @Override
+    public void close() {
+        // The mapping is released when the buffer is garbage collected
+    }
+}
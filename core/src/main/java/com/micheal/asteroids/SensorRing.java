@@ -0,0 +1,83 @@
+package com.micheal.asteroids;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free single-producer/single-consumer queue of sensor samples. The reader thread
+ * {@link #offer}s whole samples and the render thread {@link #poll}s them, so the
+ * consumer always sees orientation, rates and timestamp from the same reading and can
+ * tell how many arrived since it last looked.
+ *
+ * Samples are kept in parallel primitive arrays; nothing is allocated after construction.
+ * When the consumer falls behind and the ring fills, new samples are dropped and counted.
+ */
+public class SensorRing {
+
+    private final float[] roll, pitch, yaw;
+    private final float[] rollRate, pitchRate, yawRate;
+    private final long[] nanos;
+    private final int mask;
+
+    // Sequence of the next slot to write (owned by the producer) and to read (owned by the consumer)
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicLong tail = new AtomicLong();
+    // Producer-local copy of tail, refreshed only when the ring looks full
+    private long cachedTail;
+    private volatile long dropped;
+
+    /** Creates a ring holding {@code capacity} samples, rounded up to a power of two. */
+    public SensorRing(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity) - 1) << 1;
+        roll = new float[size];
+        pitch = new float[size];
+        yaw = new float[size];
+        rollRate = new float[size];
+        pitchRate = new float[size];
+        yawRate = new float[size];
+        nanos = new long[size];
+        mask = size - 1;
+    }
+
+    /** Publishes a sample. Producer thread only. Returns false if the ring was full and the sample was dropped. */
+    public boolean offer(SensorSample sample) {
+        long h = head.get();
+        if (h - cachedTail > mask) {
+            cachedTail = tail.get();
+            if (h - cachedTail > mask) {
+                dropped++; // Only the producer writes this field
+                return false;
+            }
+        }
+        int slot = (int) h & mask;
+        roll[slot] = sample.roll;
+        pitch[slot] = sample.pitch;
+        yaw[slot] = sample.yaw;
+        rollRate[slot] = sample.rollRate;
+        pitchRate[slot] = sample.pitchRate;
+        yawRate[slot] = sample.yawRate;
+        nanos[slot] = sample.nanos;
+        head.lazySet(h + 1); // Publishes the slot writes above
+        return true;
+    }
+
+    /** Takes the oldest unread sample into {@code out}. Consumer thread only. Returns false if empty. */
+    public boolean poll(SensorSample out) {
+        long t = tail.get();
+        if (t == head.get()) return false;
+        int slot = (int) t & mask;
+        out.set(roll[slot], pitch[slot], yaw[slot], nanos[slot]);
+        out.setRates(rollRate[slot], pitchRate[slot], yawRate[slot]);
+        tail.lazySet(t + 1);
+        return true;
+    }
+
+    /** Samples waiting to be polled. Approximate while the producer is running. */
+    public int size() {
+        return (int) (head.get() - tail.get());
+    }
+
+    /** Samples discarded because the ring was full. */
+    public long dropped() {
+        return dropped;
+    }
+}
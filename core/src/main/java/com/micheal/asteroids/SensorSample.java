@@ -0,0 +1,55 @@
+package com.micheal.asteroids;
+
+/**
+ * One complete orientation reading, stamped with {@link System#nanoTime()} when its line arrived.
+ *
+ * Rates are in degrees per second. They come from the gyroscope when the reading was a
+ * binary frame ({@code gyro} is set) and are otherwise estimated by the {@link SensorFilter},
+ * so the consumer can {@link #extrapolate} the orientation to when a frame is displayed.
+ */
+public class SensorSample {
+
+    public float roll, pitch, yaw;
+    public float rollRate, pitchRate, yawRate;
+    public boolean gyro;
+    public long nanos;
+
+    /** Sets the orientation and clears the rates. */
+    public void set(float roll, float pitch, float yaw, long nanos) {
+        this.roll = roll;
+        this.pitch = pitch;
+        this.yaw = yaw;
+        this.nanos = nanos;
+        rollRate = pitchRate = yawRate = 0;
+        gyro = false;
+    }
+
+    public void setRates(float rollRate, float pitchRate, float yawRate) {
+        this.rollRate = rollRate;
+        this.pitchRate = pitchRate;
+        this.yawRate = yawRate;
+    }
+
+    public void set(SensorSample other) {
+        set(other.roll, other.pitch, other.yaw, other.nanos);
+        setRates(other.rollRate, other.pitchRate, other.yawRate);
+        gyro = other.gyro;
+    }
+
+    /**
+     * Moves the orientation along its rates to {@code targetNanos}, predicting at most
+     * {@code maxAheadNanos} past the reading so a stalled sensor does not send it spinning.
+     */
+    public void extrapolate(long targetNanos, long maxAheadNanos) {
+        float ahead = Math.max(0, Math.min(targetNanos - nanos, maxAheadNanos)) / 1e9f;
+        roll = wrapDegrees(roll + rollRate * ahead);
+        pitch = wrapDegrees(pitch + pitchRate * ahead);
+        yaw = wrapDegrees(yaw + yawRate * ahead);
+        nanos += (long) (ahead * 1e9f);
+    }
+
+    /** Wraps an angle or angle difference into [-180, 180). */
+    static float wrapDegrees(float degrees) {
+        return degrees - 360f * (float) Math.floor((degrees + 180f) / 360f);
+    }
+}
@@ -0,0 +1,14 @@
+package com.micheal.asteroids;
+
+/**
+ * Somewhere orientation samples come from: the MPU6050 on a serial port, a recording
+ * being replayed, or a recorder wrapping either. Samples are consumed from one thread.
+ */
+public interface SensorSource {
+
+    /** Takes the oldest unconsumed sample into {@code out}, returning false if none is available yet. */
+    boolean poll(SensorSample out);
+
+    /** Releases the device or file behind this source. */
+    void close();
+}
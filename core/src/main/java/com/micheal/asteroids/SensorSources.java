@@ -0,0 +1,92 @@
+package com.micheal.asteroids;
+
+import java.nio.file.Paths;
+
+/**
+ * Chooses the sensor sources, one per player, from system properties:
+ * <ul>
+ * <li>{@code asteroids.replay=<file>[,<file>...]} replays recordings instead of opening serial ports,
+ * at {@code asteroids.replaySpeed} (default 1) and looping unless {@code asteroids.replayLoop=false}</li>
+ * <li>{@code asteroids.ports=<port>[,<port>...]} lists one serial port per player, all read by one
+ * {@link SensorHub}. {@code asteroids.ports=auto} instead takes the first {@code asteroids.players}
+ * (default 1) ports that appear. Without either, {@code asteroids.port} selects a single port
+ * (default COM6). {@code asteroids.baud} sets the rate for all of them (default 115200).</li>
+ * <li>{@code asteroids.filter} selects the {@link SensorFilter}: {@code oneEuro} (default),
+ * {@code complementary}, {@code predictor} or {@code none}. Replays default to {@code none},
+ * as recordings normally hold readings that were filtered when they were made.</li>
+ * <li>{@code asteroids.record=<file>} additionally records whatever the chosen sources produce,
+ * numbering the file per player when there are several.
+ * Recordings hold filtered readings with their rates; record with {@code asteroids.filter=none}
+ * to capture raw traces, gyro rates included, for trying out filters offline.</li>
+ * </ul>
+ * Serial errors and disconnects are reported to the game's {@link EventLog}.
+ */
+public final class SensorSources {
+
+    private SensorSources() {
+    }
+
+    public static SensorSource[] fromSystemProperties(EventLog events) {
+        String replay = System.getProperty("asteroids.replay");
+        String filter = System.getProperty("asteroids.filter", replay != null ? "none" : "oneEuro");
+        SensorSource[] sources;
+        if (replay != null) {
+            double speed = Double.parseDouble(System.getProperty("asteroids.replaySpeed", "1"));
+            boolean loop = Boolean.parseBoolean(System.getProperty("asteroids.replayLoop", "true"));
+            String[] files = replay.split(",");
+            sources = new SensorSource[files.length];
+            for (int i = 0; i < files.length; i++) {
+                sources[i] = new SensorReplay(Paths.get(files[i].trim()), speed, loop, filter(filter));
+            }
+        } else {
+            int baud = Integer.getInteger("asteroids.baud", 115200);
+            String[] ports = portNames();
+            MPU6050Reader[] readers = new MPU6050Reader[ports.length];
+            for (int i = 0; i < ports.length; i++) {
+                readers[i] = new MPU6050Reader(ports[i], baud, filter(filter));
+                readers[i].setEventLog(events, i);
+            }
+            new SensorHub(readers);
+            sources = readers;
+        }
+
+        String record = System.getProperty("asteroids.record");
+        if (record != null) {
+            for (int i = 0; i < sources.length; i++) {
+                String file = sources.length == 1 ? record : numbered(record, i + 1);
+                sources[i] = new SensorRecorder(sources[i], Paths.get(file));
+            }
+        }
+        return sources;
+    }
+
+    /** One port name per player; null entries are filled in by hot-plug detection. */
+    private static String[] portNames() {
+        String ports = System.getProperty("asteroids.ports");
+        if ("auto".equals(ports)) return new String[Integer.getInteger("asteroids.players", 1)];
+        if (ports != null) {
+            String[] names = ports.split(",");
+            for (int i = 0; i < names.length; i++) names[i] = names[i].trim();
+            return names;
+        }
+        return new String[] {System.getProperty("asteroids.port", "COM6")};
+    }
+
+    /** Inserts {@code -n} before the extension: {@code run.rec} becomes {@code run-2.rec}. */
+    private static String numbered(String file, int n) {
+        int dot = file.lastIndexOf('.');
+        if (dot <= Math.max(file.lastIndexOf('/'), file.lastIndexOf('\\'))) return file + "-" + n;
+        return file.substring(0, dot) + "-" + n + file.substring(dot);
+    }
+
+    /** Creates a new filter by name, as accepted by {@code asteroids.filter}. */
+    public static SensorFilter filter(String name) {
+        switch (name) {
+            case "none": return SensorFilter.NONE;
+            case "oneEuro": return new OneEuroFilter();
+            case "complementary": return new ComplementaryFilter();
+            case "predictor": return new LinearPredictor();
+            default: throw new IllegalArgumentException("Unknown sensor filter: " + name);
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.micheal.asteroids;
+
+/**
+ * Decodes a serial stream that may carry {@link SensorFrame binary frames}, text lines in
+ * the original {@code roll/pitch/yaw} format, or a mix of both. The sync byte never
+ * occurs in ASCII, so every byte is routed without any configuration: a sync byte starts
+ * a binary frame and everything else outside a frame goes to the {@link SensorLineParser}.
+ *
+ * Frames failing their CRC are counted as corrupt and the decoder resynchronises on the
+ * next sync byte inside them. Gaps in the sequence number are counted as dropped frames,
+ * less any corrupt frames since the last good one: a frame that arrived damaged counts as
+ * corrupt, not also as dropped. Nothing is allocated per byte or per sample.
+ */
+public class SensorStreamDecoder {
+
+    private final SensorLineParser lines = new SensorLineParser();
+    private final byte[] frame = new byte[SensorFrame.LENGTH];
+    private int frameLength; // 0 when not inside a binary frame
+
+    private float roll, pitch, yaw;
+    private final short[] accel = new short[3];
+    private final short[] gyro = new short[3];
+    private boolean binary;
+
+    private int lastSequence = -1;
+    private long frames;
+    private long corruptFrames;
+    private long droppedFrames;
+    private int corruptSinceGood; // Corrupt frames since the last good one, which may fill a sequence gap
+
+    /** Feeds one byte. Returns true if it completed a valid sample in either format. */
+    public boolean accept(byte b) {
+        if (frameLength == 0 && b != SensorFrame.SYNC) {
+            if (!lines.accept(b)) return false;
+            roll = lines.roll();
+            pitch = lines.pitch();
+            yaw = lines.yaw();
+            binary = false;
+            return true;
+        }
+
+        frame[frameLength++] = b;
+        if (frameLength < SensorFrame.LENGTH) return false;
+
+        if (SensorFrame.crc8(frame, 1, SensorFrame.LENGTH - 2) != (frame[SensorFrame.LENGTH - 1] & 0xFF)) {
+            corruptFrames++;
+            corruptSinceGood++;
+            resync();
+            return false;
+        }
+        frameLength = 0;
+        decodeFrame();
+        return true;
+    }
+
+    private void decodeFrame() {
+        roll = SensorFrame.readShort(frame, 1) / SensorFrame.ANGLE_SCALE;
+        pitch = SensorFrame.readShort(frame, 3) / SensorFrame.ANGLE_SCALE;
+        yaw = SensorFrame.readShort(frame, 5) / SensorFrame.ANGLE_SCALE;
+        for (int i = 0; i < 3; i++) {
+            accel[i] = (short) SensorFrame.readShort(frame, 7 + i * 2);
+            gyro[i] = (short) SensorFrame.readShort(frame, 13 + i * 2);
+        }
+        binary = true;
+
+        int sequence = frame[19] & 0xFF;
+        if (lastSequence >= 0) {
+            int missing = (sequence - lastSequence - 1) & 0xFF;
+            droppedFrames += Math.max(0, missing - corruptSinceGood);
+        }
+        corruptSinceGood = 0;
+        lastSequence = sequence;
+        frames++;
+    }
+
+    /** Drops a bad frame up to the next sync byte inside it, keeping the bytes after that. */
+    private void resync() {
+        int next = 1;
+        while (next < frameLength && frame[next] != SensorFrame.SYNC) next++;
+        System.arraycopy(frame, next, frame, 0, frameLength - next);
+        frameLength -= next;
+    }
+
+    public float roll() {
+        return roll;
+    }
+
+    public float pitch() {
+        return pitch;
+    }
+
+    public float yaw() {
+        return yaw;
+    }
+
+    /** True if the last sample came from a binary frame, so {@link #accel()} and {@link #gyro()} are valid. */
+    public boolean isBinary() {
+        return binary;
+    }
+
+    /** Raw accelerometer counts from the last binary frame. */
+    public short[] accel() {
+        return accel;
+    }
+
+    /** Raw gyroscope counts from the last binary frame. */
+    public short[] gyro() {
+        return gyro;
+    }
+
+    public long frames() {
+        return frames;
+    }
+
+    public long corruptFrames() {
+        return corruptFrames;
+    }
+
+    public long droppedFrames() {
+        return droppedFrames;
+    }
+
+    public long invalidLines() {
+        return lines.invalidLines();
+    }
+}
@@ -0,0 +1,45 @@
+package com.micheal.asteroids;
+
+import com.badlogic.gdx.math.MathUtils;
+
+/** The player's ship. Position is the ship's centre, angle is in degrees with 0 facing up. */
+public class Ship {
+
+    public float x, y;
+    public float prevX, prevY, prevAngle;
+    public float velocityX, velocityY;
+    public float angle;
+    public final float radius;
+    public float shootTimer;
+
+    public Ship(float radius) {
+        this.radius = radius;
+    }
+
+    /** Puts the ship back at (x, y), at rest. */
+    public void respawn(float x, float y) {
+        this.x = x;
+        this.y = y;
+        velocityX = 0;
+        velocityY = 0;
+        prevX = x;
+        prevY = y;
+    }
+
+    /** Remembers the current pose as the previous one, before a tick changes it. */
+    public void savePrevious() {
+        prevX = x;
+        prevY = y;
+        prevAngle = angle;
+    }
+
+    /** X component of the direction the ship is facing. */
+    public float headingX() {
+        return MathUtils.cos((angle + 90) * MathUtils.degreesToRadians);
+    }
+
+    /** Y component of the direction the ship is facing. */
+    public float headingY() {
+        return MathUtils.sin((angle + 90) * MathUtils.degreesToRadians);
+    }
+}
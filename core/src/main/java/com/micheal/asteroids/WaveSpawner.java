@@ -0,0 +1,118 @@
+package com.micheal.asteroids;
+
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.RandomXS128;
+
+/**
+ * Spawns each wave a few asteroids per tick rather than all at once, so even a huge wave
+ * adds a small, fixed amount of work to any one frame. The budget is a count per tick, not
+ * a time, so a seeded game spawns identically on every machine.
+ *
+ * Placement comes from a spawn table precomputed from the world's seed: positions as
+ * fractions of the world and velocities, so spawning is a table read with no trigonometry.
+ * Each wave walks the table from a random start with a random odd stride, visiting every
+ * entry once before repeating; repeats are shifted so large waves do not stack asteroids.
+ * Asteroids that would appear within the safe radius of a ship are pushed out to its edge.
+ */
+public class WaveSpawner {
+
+    private static final int TABLE_SIZE = 1024;
+    private static final int MASK = TABLE_SIZE - 1;
+    private static final float GOLDEN_RATIO_FRACTION = 0.618034f;
+
+    private final float[] tableX = new float[TABLE_SIZE];
+    private final float[] tableY = new float[TABLE_SIZE];
+    private final float[] tableVx = new float[TABLE_SIZE];
+    private final float[] tableVy = new float[TABLE_SIZE];
+
+    private final RandomXS128 random;
+    private final int perTick;
+    private final float safeRadius;
+
+    private int pending;
+    private int spawned;
+    private int start;
+    private int stride;
+
+    /**
+     * Builds the spawn table from {@code random}, which the spawner keeps using to pick each
+     * wave's walk. At most {@code perTick} asteroids are spawned per tick.
+     */
+    public WaveSpawner(RandomXS128 random, int perTick, float safeRadius) {
+        this.random = random;
+        this.perTick = perTick;
+        this.safeRadius = safeRadius;
+        for (int i = 0; i < TABLE_SIZE; i++) {
+            float angle = random.nextFloat() * 360f;
+            float speed = 100f + random.nextFloat() * 100f;
+            tableX[i] = random.nextFloat();
+            tableY[i] = random.nextFloat();
+            tableVx[i] = MathUtils.cosDeg(angle) * speed;
+            tableVy[i] = MathUtils.sinDeg(angle) * speed;
+        }
+    }
+
+    /** Queues {@code count} asteroids, spawned over the following ticks. */
+    public void startWave(int count) {
+        pending += count;
+        spawned = 0;
+        start = random.nextInt(TABLE_SIZE);
+        stride = random.nextInt(TABLE_SIZE / 2) * 2 + 1; // Odd, so the walk visits every entry
+    }
+
+    /** True when every queued asteroid has been spawned. */
+    public boolean isIdle() {
+        return pending == 0;
+    }
+
+    /** Asteroids still waiting to be spawned. */
+    public int pending() {
+        return pending;
+    }
+
+    /** Spawns up to the per-tick budget of queued asteroids, fading in. */
+    public void spawn(AsteroidField asteroids, Ship[] ships, float worldWidth, float worldHeight) {
+        spawn(asteroids, ships, worldWidth, worldHeight, Math.min(pending, perTick), true);
+    }
+
+    /** Spawns every queued asteroid at once, already solid. For setting up a world before play. */
+    public void spawnAll(AsteroidField asteroids, Ship[] ships, float worldWidth, float worldHeight) {
+        spawn(asteroids, ships, worldWidth, worldHeight, pending, false);
+    }
+
+    private void spawn(AsteroidField asteroids, Ship[] ships, float worldWidth, float worldHeight, int count, boolean fade) {
+        for (int n = 0; n < count; n++) {
+            int entry = (start + spawned * stride) & MASK;
+            // Each pass over the table shifts the positions, so repeated entries land elsewhere
+            float shift = (spawned / TABLE_SIZE) * GOLDEN_RATIO_FRACTION;
+            float x = fraction(tableX[entry] + shift) * worldWidth;
+            float y = fraction(tableY[entry] + shift * GOLDEN_RATIO_FRACTION) * worldHeight;
+            float vx = tableVx[entry];
+            float vy = tableVy[entry];
+
+            for (Ship ship : ships) {
+                float dx = x - ship.x;
+                float dy = y - ship.y;
+                float distanceSquared = dx * dx + dy * dy;
+                if (distanceSquared >= safeRadius * safeRadius) continue;
+                if (distanceSquared < 1e-6f) {
+                    // Directly on the ship: push out along the asteroid's own heading
+                    dx = vx;
+                    dy = vy;
+                    distanceSquared = dx * dx + dy * dy;
+                }
+                float scale = safeRadius / (float) Math.sqrt(distanceSquared);
+                x = ship.x + dx * scale;
+                y = ship.y + dy * scale;
+            }
+
+            asteroids.spawn(x, y, vx, vy, fade);
+            spawned++;
+            pending--;
+        }
+    }
+
+    private static float fraction(float value) {
+        return value - (float) Math.floor(value);
+    }
+}
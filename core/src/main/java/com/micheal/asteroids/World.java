@@ -0,0 +1,392 @@
+package com.micheal.asteroids;
+
+import com.badlogic.gdx.math.RandomXS128;
+import com.badlogic.gdx.utils.IntArray;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * The complete game state and rules, with no dependency on rendering, windowing or
+ * input devices. {@link #step(PlayerInput, float)} advances one tick, so the game can be
+ * driven by {@link GameScreen} or run headless as fast as the CPU allows.
+ *
+ * All randomness comes from a seeded generator, so the same seed, inputs and step sizes
+ * always play out the same game.
+ *
+ * Several players can share the world, each with a ship, lives and score of their own.
+ * A player out of lives drops out; the game ends when every player has.
+ *
+ * The asteroid update, broadphase build and bullet collision tests work on fixed chunks of
+ * entities, which can run on a fork-join pool ({@link #setWorkers}). Chunks only write their
+ * own entities or their own hit list, and hits are applied afterwards in chunk order, so
+ * the outcome is identical however many threads there are.
+ *
+ * Waves are spawned a few asteroids per tick by a {@link WaveSpawner}, fading in away from
+ * the ships, so clearing a wave never stalls a frame however large the next one is.
+ */
+public class World {
+
+    // Fraction of velocity kept per 1/60 s; scaled by the step length so handling does not depend on tick rate
+    private static final float DRAG = 0.98f;
+    private static final float DRAG_REFERENCE_RATE = 60f;
+    private static final float ROTATION_SPEED = 180f;
+    private static final float THRUST_POWER = 1000f;
+    private static final float SHOOT_COOLDOWN = 0.3f;
+
+    private final float width, height;
+    private final RandomXS128 random;
+
+    private static final int STARTING_LIVES = 3;
+    // Entities per chunk of parallel work. Fixed, so chunk boundaries never depend on the thread count.
+    private static final int CHUNK_SIZE = 1024;
+    // Most asteroids a wave may add in one tick; at 120 Hz even a 1000 asteroid wave is in within a second
+    private static final int SPAWN_PER_TICK = 16;
+    // Spawned asteroids keep at least this many ship radii from every ship
+    private static final float SAFE_RADIUS_SHIPS = 6f;
+
+    private final Ship[] ships;
+    private final int[] lives;
+    private final int[] scores;
+    private boolean unlimitedLives;
+    private final AsteroidField asteroids;
+    private final BulletField bullets;
+    private final float asteroidRadius;
+
+    // Lets the single player step method reuse the multiplayer one without allocating
+    private final PlayerInput[] singleInput = new PlayerInput[1];
+
+    // Wave system
+    private int wave = 1;
+    private int startingAsteroids = 5;
+    private final WaveSpawner spawner;
+
+    // Collision broadphase, rebuilt every tick from asteroid centres
+    private final CollisionGrid collisionGrid;
+    private final IntArray candidates = new IntArray();
+
+    private ChunkRunner runner = new ChunkRunner(null, CHUNK_SIZE);
+    private float tickDelta; // Step length, read by the chunk jobs
+    private IntArray[] chunkCandidates = new IntArray[0];
+    // Per bullet chunk: (bullet, asteroid) pairs that overlap, in bullet then candidate order
+    private IntArray[] chunkHits = new IntArray[0];
+
+    private final ChunkRunner.Job updateAsteroids = this::updateAsteroids;
+    private final ChunkRunner.Job insertAsteroids = this::insertAsteroids;
+    private final ChunkRunner.Job findBulletHits = this::findBulletHits;
+
+    private FrameProfiler profiler = FrameProfiler.DISABLED;
+    private EventLog events = EventLog.DISABLED;
+    private ParticleSystem particles = ParticleSystem.DISABLED;
+
+    public World(long seed, float width, float height, float shipRadius, float asteroidRadius, float bulletRadius) {
+        this(seed, 1, width, height, shipRadius, asteroidRadius, bulletRadius);
+    }
+
+    public World(long seed, int players, float width, float height, float shipRadius, float asteroidRadius, float bulletRadius) {
+        if (players < 1) throw new IllegalArgumentException("players must be at least 1: " + players);
+        this.random = new RandomXS128(seed);
+        this.width = width;
+        this.height = height;
+        this.asteroidRadius = asteroidRadius;
+        ships = new Ship[players];
+        lives = new int[players];
+        scores = new int[players];
+        for (int p = 0; p < players; p++) {
+            ships[p] = new Ship(shipRadius);
+            lives[p] = STARTING_LIVES;
+            respawn(p);
+        }
+        asteroids = new AsteroidField(asteroidRadius, 64);
+        bullets = new BulletField(bulletRadius, 64);
+        collisionGrid = new CollisionGrid(asteroidRadius * 2f);
+        spawner = new WaveSpawner(random, SPAWN_PER_TICK, shipRadius * SAFE_RADIUS_SHIPS);
+
+        // The first wave is in place before play starts, so it does not need to fade in
+        spawner.startWave(startingAsteroids);
+        spawner.spawnAll(asteroids, ships, width, height);
+    }
+
+    /** Runs the chunked parts of each tick on {@code pool}, or on the calling thread if it is null. */
+    public void setWorkers(ForkJoinPool pool) {
+        runner = new ChunkRunner(pool, CHUNK_SIZE);
+    }
+
+    /**
+     * Adds {@code count} asteroids at once, already solid and clear of the ships, for the
+     * swarm stress mode. They come from the spawn table like any wave.
+     */
+    public void addAsteroids(int count) {
+        spawner.startWave(count);
+        spawner.spawnAll(asteroids, ships, width, height);
+    }
+
+    /**
+     * Stops hits from costing lives, so the game never ends. Ships are still respawned and
+     * the asteroid destroyed. For benchmarks and checks that step a loaded world indefinitely.
+     */
+    public void setUnlimitedLives(boolean unlimitedLives) {
+        this.unlimitedLives = unlimitedLives;
+    }
+
+    /** Logs kills, hits and new waves to {@code events}. */
+    public void setEventLog(EventLog events) {
+        this.events = events;
+    }
+
+    /** Emits explosions into {@code particles} when asteroids and ships are destroyed. */
+    public void setParticles(ParticleSystem particles) {
+        this.particles = particles;
+    }
+
+    /** Times each phase of {@link #step} into {@code profiler}. */
+    public void setProfiler(FrameProfiler profiler) {
+        this.profiler = profiler;
+    }
+
+    /** Puts a player's ship back at its spawn point. Players are spread evenly across the middle of the world. */
+    private void respawn(int player) {
+        ships[player].respawn(width * (player + 1) / (ships.length + 1), height / 2f);
+    }
+
+    /** Advances a single player game by {@code delta} seconds. Does nothing once the game is over. */
+    public void step(PlayerInput input, float delta) {
+        singleInput[0] = input;
+        step(singleInput, delta);
+    }
+
+    /** Advances the game by {@code delta} seconds with one input per player. Does nothing once the game is over. */
+    public void step(PlayerInput[] inputs, float delta) {
+        if (isGameOver()) return;
+
+        long lap = profiler.start();
+        for (int p = 0; p < ships.length; p++) {
+            if (!isPlaying(p)) continue;
+            Ship ship = ships[p];
+            ship.savePrevious();
+            applyInput(p, inputs[p], delta);
+            ship.shootTimer -= delta;
+        }
+        lap = profiler.lap(FrameProfiler.Phase.INPUT, lap);
+
+        // Update bullets
+        bullets.update(delta, width, height);
+        lap = profiler.lap(FrameProfiler.Phase.BULLETS, lap);
+
+        // Update player positions
+        float drag = (float) Math.pow(DRAG, delta * DRAG_REFERENCE_RATE);
+        for (int p = 0; p < ships.length; p++) {
+            if (!isPlaying(p)) continue;
+            Ship ship = ships[p];
+            ship.x += ship.velocityX * delta;
+            ship.y += ship.velocityY * delta;
+            ship.velocityX *= drag;
+            ship.velocityY *= drag;
+        }
+        lap = profiler.lap(FrameProfiler.Phase.PLAYER, lap);
+
+        // Update asteroids
+        tickDelta = delta;
+        runner.run(updateAsteroids, asteroids.size);
+        lap = profiler.lap(FrameProfiler.Phase.ASTEROIDS, lap);
+
+        // Broadphase: bucket asteroid centres so each test only visits nearby asteroids
+        collisionGrid.begin(width, height, asteroids.size);
+        runner.run(insertAsteroids, asteroids.size);
+        collisionGrid.finish(asteroids.size);
+        lap = profiler.lap(FrameProfiler.Phase.BROADPHASE, lap);
+
+        // Player-asteroid collision
+        for (int p = 0; p < ships.length; p++) {
+            if (!isPlaying(p)) continue;
+            Ship ship = ships[p];
+            collisionGrid.query(ship.x, ship.y, ship.radius + asteroidRadius, candidates);
+            for (int c = 0; c < candidates.size; c++) {
+                int index = candidates.get(c);
+                // Skip asteroids already destroyed by another ship this tick, or still fading in
+                if (!asteroids.isAlive(index) || !asteroids.isSolid(index)) continue;
+                if (asteroids.overlaps(index, ship.x, ship.y, ship.radius)) {
+                    if (!unlimitedLives) lives[p]--;
+                    events.hit(p, lives[p], ship.x, ship.y);
+                    particles.shipExplosion(ship.x, ship.y);
+                    particles.asteroidExplosion(asteroids.x[index], asteroids.y[index]);
+                    respawn(p);
+                    asteroids.kill(index); // Remove asteroid after collision
+                    break; // The player has been reset, further hits this tick would be spurious
+                }
+            }
+        }
+        if (isGameOver()) {
+            profiler.lap(FrameProfiler.Phase.PLAYER_COLLISION, lap);
+            return;
+        }
+        lap = profiler.lap(FrameProfiler.Phase.PLAYER_COLLISION, lap);
+
+        // Bullet-asteroid collision: find overlaps in parallel, then apply them in bullet order
+        ensureChunkLists(runner.chunks(bullets.size));
+        runner.run(findBulletHits, bullets.size);
+        for (int chunk = 0, chunks = runner.chunks(bullets.size); chunk < chunks; chunk++) {
+            IntArray hits = chunkHits[chunk];
+            for (int h = 0; h < hits.size; h += 2) {
+                int b = hits.get(h);
+                int index = hits.get(h + 1);
+                // A bullet only destroys one asteroid, and each asteroid goes to the first bullet that reaches it
+                if (!bullets.isAlive(b) || !asteroids.isAlive(index)) continue;
+                asteroids.kill(index);
+                bullets.kill(b);
+                int player = bullets.owner[b];
+                scores[player]++;
+                events.kill(player, scores[player], asteroids.x[index], asteroids.y[index]);
+                particles.asteroidExplosion(asteroids.x[index], asteroids.y[index]);
+            }
+        }
+
+        asteroids.compact();
+        bullets.compact();
+        lap = profiler.lap(FrameProfiler.Phase.BULLET_COLLISION, lap);
+
+        // Wave progression: the next wave starts once this one is fully spawned and destroyed
+        if (asteroids.size == 0 && spawner.isIdle()) {
+            wave++;
+            startingAsteroids += 2; // Increase difficulty
+            spawner.startWave(startingAsteroids);
+            events.waveStart(wave, startingAsteroids);
+        }
+        spawner.spawn(asteroids, ships, width, height);
+        lap = profiler.lap(FrameProfiler.Phase.WAVES, lap);
+
+        // Screen wrapping
+        for (Ship ship : ships) {
+            float r = ship.radius;
+            if (ship.x < -r) ship.x = width + r;
+            else if (ship.x > width + r) ship.x = -r;
+            if (ship.y < -r) ship.y = height + r;
+            else if (ship.y > height + r) ship.y = -r;
+        }
+        profiler.lap(FrameProfiler.Phase.PLAYER, lap);
+    }
+
+    private void updateAsteroids(int chunk, int from, int to) {
+        asteroids.update(tickDelta, width, height, from, to);
+    }
+
+    private void insertAsteroids(int chunk, int from, int to) {
+        for (int i = from; i < to; i++) collisionGrid.insert(i, asteroids.x[i], asteroids.y[i]);
+    }
+
+    /** Records every (bullet, asteroid) overlap in a chunk of bullets. Only reads shared state. */
+    private void findBulletHits(int chunk, int from, int to) {
+        IntArray candidates = chunkCandidates[chunk];
+        IntArray hits = chunkHits[chunk];
+        hits.clear();
+        for (int b = from; b < to; b++) {
+            if (!bullets.isAlive(b)) continue;
+            float bulletX = bullets.x[b];
+            float bulletY = bullets.y[b];
+            float bulletRadius = bullets.radius[b];
+            collisionGrid.query(bulletX, bulletY, bulletRadius + asteroidRadius, candidates);
+            for (int c = 0; c < candidates.size; c++) {
+                int index = candidates.get(c);
+                if (asteroids.isAlive(index) && asteroids.isSolid(index)
+                    && asteroids.overlaps(index, bulletX, bulletY, bulletRadius)) {
+                    hits.add(b);
+                    hits.add(index);
+                }
+            }
+        }
+    }
+
+    private void ensureChunkLists(int chunks) {
+        if (chunkHits.length >= chunks) return;
+        IntArray[] grownCandidates = new IntArray[chunks];
+        IntArray[] grownHits = new IntArray[chunks];
+        System.arraycopy(chunkCandidates, 0, grownCandidates, 0, chunkCandidates.length);
+        System.arraycopy(chunkHits, 0, grownHits, 0, chunkHits.length);
+        for (int c = chunkHits.length; c < chunks; c++) {
+            grownCandidates[c] = new IntArray();
+            grownHits[c] = new IntArray();
+        }
+        chunkCandidates = grownCandidates;
+        chunkHits = grownHits;
+    }
+
+    private void applyInput(int player, PlayerInput input, float delta) {
+        Ship ship = ships[player];
+        ship.angle += input.turn * ROTATION_SPEED * delta;
+
+        if (input.thrust) {
+            ship.velocityX += ship.headingX() * THRUST_POWER * delta;
+            ship.velocityY += ship.headingY() * THRUST_POWER * delta;
+        }
+
+        if (input.fire && ship.shootTimer <= 0f) {
+            bullets.fire(ship.x, ship.y, ship.angle, player);
+            ship.shootTimer = SHOOT_COOLDOWN;
+        }
+    }
+
+    /** True once every player is out of lives. */
+    public boolean isGameOver() {
+        for (int l : lives) {
+            if (l > 0) return false;
+        }
+        return true;
+    }
+
+    /** True while {@code player} still has lives left. */
+    public boolean isPlaying(int player) {
+        return lives[player] > 0;
+    }
+
+    public int getPlayerCount() {
+        return ships.length;
+    }
+
+    public float getWidth() {
+        return width;
+    }
+
+    public float getHeight() {
+        return height;
+    }
+
+    /** The first player's ship. */
+    public Ship getShip() {
+        return ships[0];
+    }
+
+    public Ship getShip(int player) {
+        return ships[player];
+    }
+
+    public AsteroidField getAsteroids() {
+        return asteroids;
+    }
+
+    public BulletField getBullets() {
+        return bullets;
+    }
+
+    /** Combined score of every player. */
+    public int getScore() {
+        int total = 0;
+        for (int s : scores) total += s;
+        return total;
+    }
+
+    public int getScore(int player) {
+        return scores[player];
+    }
+
+    /** The first player's lives. */
+    public int getLives() {
+        return lives[0];
+    }
+
+    public int getLives(int player) {
+        return lives[player];
+    }
+
+    public int getWave() {
+        return wave;
+    }
+}
@@ -0,0 +1,99 @@
+package com.micheal.asteroids;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Steps two identically seeded swarm worlds, one on the calling thread and one on a
+ * four-thread pool, and checks they stay identical tick for tick. Volleys of bullets large
+ * enough to span several chunks are fired into both, so the parallel hit search and the
+ * ordered merge are exercised as well as the asteroid update and broadphase.
+ */
+public class ParallelDeterminismTest {
+
+    private static final int PLAYERS = 4;
+    private static final int SWARM = 20_000;
+    private static final int TICKS = 600;
+    private static final int VOLLEY = 3000;
+    private static final float STEP = 1f / 120f;
+
+    @Test
+    public void resultsDoNotDependOnTheThreadCount() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            World inline = swarm();
+            World parallel = swarm();
+            parallel.setWorkers(pool);
+
+            PlayerInput[] inputs = new PlayerInput[PLAYERS];
+            for (int p = 0; p < PLAYERS; p++) {
+                inputs[p] = new PlayerInput();
+                inputs[p].turn = p % 2 == 0 ? 1f : -1f;
+                inputs[p].thrust = p < 2;
+                inputs[p].fire = true;
+            }
+
+            int hits = 0;
+            for (int t = 0; t < TICKS; t++) {
+                if (t % 30 == 0) {
+                    volley(inline, t);
+                    volley(parallel, t);
+                }
+                inline.step(inputs, STEP);
+                parallel.step(inputs, STEP);
+                assertSame(inline, parallel, t);
+                hits = inline.getScore();
+            }
+            assertTrue("the volleys should destroy asteroids", hits > 0);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static World swarm() {
+        World world = new World(1234, PLAYERS, 1920f, 1080f, 32f, 32f, 2f);
+        world.setUnlimitedLives(true);
+        world.addAsteroids(SWARM);
+        return world;
+    }
+
+    /** Fires bullets from a grid across the world, many of them at the same asteroids. */
+    private static void volley(World world, int tick) {
+        BulletField bullets = world.getBullets();
+        for (int i = 0; i < VOLLEY; i++) {
+            float x = (i % 60) * 32f + 16f;
+            float y = (i / 60) * 21.6f + 10f;
+            bullets.fire(x, y, (i * 37 + tick) % 360, i % PLAYERS);
+        }
+    }
+
+    private static void assertSame(World expected, World actual, int tick) {
+        String at = "tick " + tick + ": ";
+        AsteroidField a = expected.getAsteroids(), b = actual.getAsteroids();
+        assertEquals(at + "asteroids", a.size, b.size);
+        assertArrayEquals(at + "asteroid x", Arrays.copyOf(a.x, a.size), Arrays.copyOf(b.x, b.size), 0f);
+        assertArrayEquals(at + "asteroid y", Arrays.copyOf(a.y, a.size), Arrays.copyOf(b.y, b.size), 0f);
+        assertArrayEquals(at + "asteroid vx", Arrays.copyOf(a.vx, a.size), Arrays.copyOf(b.vx, b.size), 0f);
+        assertArrayEquals(at + "asteroid vy", Arrays.copyOf(a.vy, a.size), Arrays.copyOf(b.vy, b.size), 0f);
+        assertArrayEquals(at + "asteroid fade", Arrays.copyOf(a.fade, a.size), Arrays.copyOf(b.fade, b.size), 0f);
+
+        BulletField c = expected.getBullets(), d = actual.getBullets();
+        assertEquals(at + "bullets", c.size, d.size);
+        assertArrayEquals(at + "bullet x", Arrays.copyOf(c.x, c.size), Arrays.copyOf(d.x, d.size), 0f);
+        assertArrayEquals(at + "bullet y", Arrays.copyOf(c.y, c.size), Arrays.copyOf(d.y, d.size), 0f);
+        assertArrayEquals(at + "bullet owner", Arrays.copyOf(c.owner, c.size), Arrays.copyOf(d.owner, d.size));
+
+        for (int p = 0; p < PLAYERS; p++) {
+            assertEquals(at + "score of player " + p, expected.getScore(p), actual.getScore(p));
+            assertEquals(at + "ship x of player " + p, expected.getShip(p).x, actual.getShip(p).x, 0f);
+            assertEquals(at + "ship y of player " + p, expected.getShip(p).y, actual.getShip(p).y, 0f);
+        }
+        assertEquals(at + "wave", expected.getWave(), actual.getWave());
+    }
+}
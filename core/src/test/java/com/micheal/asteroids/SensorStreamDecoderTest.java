@@ -0,0 +1,146 @@
+package com.micheal.asteroids;
+
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Feeds {@link SensorStreamDecoder} streams built with {@link SensorFrame#encode}, with
+ * garbage, damaged frames, reads split mid-frame and gaps in the sequence numbers.
+ */
+public class SensorStreamDecoderTest {
+
+    private static final short[] ACCEL = {100, -200, 16384};
+    private static final short[] GYRO = {131, -262, 0};
+
+    private final SensorStreamDecoder decoder = new SensorStreamDecoder();
+    private final ByteArrayOutputStream stream = new ByteArrayOutputStream();
+
+    private static byte[] frame(int sequence, float roll) {
+        byte[] frame = new byte[SensorFrame.LENGTH];
+        SensorFrame.encode(frame, 0, roll, -4.5f, 179.99f, ACCEL, GYRO, sequence);
+        return frame;
+    }
+
+    private void add(byte[] bytes) {
+        stream.write(bytes, 0, bytes.length);
+    }
+
+    private void add(String text) {
+        for (int i = 0; i < text.length(); i++) stream.write(text.charAt(i));
+    }
+
+    private int feed(int readSize, float[] rolls) {
+        return feed(decoder, stream.toByteArray(), readSize, rolls);
+    }
+
+    /**
+     * Feeds {@code bytes} to {@code decoder} in reads of {@code readSize} bytes, keeps the
+     * roll of the first {@code rolls.length} samples and returns how many samples there were.
+     */
+    private static int feed(SensorStreamDecoder decoder, byte[] bytes, int readSize, float[] rolls) {
+        int samples = 0;
+        for (int read = 0; read < bytes.length; read += readSize) {
+            for (int i = read; i < Math.min(bytes.length, read + readSize); i++) {
+                if (decoder.accept(bytes[i])) {
+                    if (samples < rolls.length) rolls[samples] = decoder.roll();
+                    samples++;
+                }
+            }
+        }
+        return samples;
+    }
+
+    @Test
+    public void decodesEncodedFrames() {
+        add(frame(7, 12.34f));
+        float[] rolls = new float[1];
+        assertEquals(1, feed(SensorFrame.LENGTH, rolls));
+        assertTrue(decoder.isBinary());
+        assertEquals(12.34f, decoder.roll(), 0.005f);
+        assertEquals(-4.5f, decoder.pitch(), 0.005f);
+        assertEquals(179.99f, decoder.yaw(), 0.005f);
+        assertEquals(ACCEL[2], decoder.accel()[2]);
+        assertEquals(GYRO[1], decoder.gyro()[1]);
+        assertEquals(1, decoder.frames());
+    }
+
+    @Test
+    public void framesSplitAcrossReadsDecodeTheSame() {
+        for (int s = 0; s < 10; s++) add(frame(s, s));
+        for (int readSize : new int[] {1, 2, 5, 20, 22, 64}) {
+            SensorStreamDecoder fresh = new SensorStreamDecoder();
+            float[] rolls = new float[10];
+            assertEquals("samples with reads of " + readSize, 10, feed(fresh, stream.toByteArray(), readSize, rolls));
+            assertArrayEquals("rolls with reads of " + readSize,
+                new float[] {0, 1, 2, 3, 4, 5, 6, 7, 8, 9}, rolls, 0.005f);
+            assertEquals(0, fresh.corruptFrames());
+            assertEquals(0, fresh.droppedFrames());
+        }
+    }
+
+    @Test
+    public void resynchronisesAfterGarbageContainingSyncBytes() {
+        add(frame(0, 1f));
+        // Line noise: sync bytes followed by less than a frame, as after a baud glitch
+        add(new byte[] {SensorFrame.SYNC, 0x13, 0x7F, SensorFrame.SYNC, (byte) 0xFF, 0x00});
+        add(frame(1, 2f));
+        add(frame(2, 3f));
+
+        float[] rolls = new float[3];
+        assertEquals(3, feed(7, rolls));
+        assertArrayEquals(new float[] {1f, 2f, 3f}, rolls, 0.005f);
+        assertTrue(decoder.corruptFrames() > 0);
+        assertEquals(0, decoder.droppedFrames());
+    }
+
+    @Test
+    public void badCrcCountsAsCorruptButNotDropped() {
+        add(frame(0, 1f));
+        byte[] damaged = frame(1, 2f);
+        damaged[4] ^= 0x10;
+        add(damaged);
+        add(frame(2, 3f));
+
+        float[] rolls = new float[2];
+        assertEquals(2, feed(SensorFrame.LENGTH, rolls));
+        assertArrayEquals(new float[] {1f, 3f}, rolls, 0.005f);
+        assertEquals(1, decoder.corruptFrames());
+        assertEquals(0, decoder.droppedFrames());
+        assertEquals(2, decoder.frames());
+    }
+
+    @Test
+    public void sequenceGapsCountAsDropped() {
+        add(frame(0, 0f));
+        add(frame(1, 0f));
+        add(frame(4, 0f)); // 2 and 3 never arrived
+        add(frame(254, 0f)); // 5 to 253
+        add(frame(255, 0f));
+        add(frame(1, 0f)); // Wraps; 0 never arrived
+
+        assertEquals(6, feed(SensorFrame.LENGTH, new float[0]));
+        assertEquals(2 + 249 + 1, decoder.droppedFrames());
+        assertEquals(0, decoder.corruptFrames());
+    }
+
+    @Test
+    public void textLinesAndFramesShareAStream() {
+        add("10.5/-3.25/90\n");
+        add(frame(0, 20f));
+        add("not/a/line\n");
+        add("-30/0/0\r\n");
+
+        float[] rolls = new float[3];
+        assertEquals(3, feed(3, rolls));
+        assertArrayEquals(new float[] {10.5f, 20f, -30f}, rolls, 0.005f);
+        assertFalse(decoder.isBinary());
+        assertEquals(1, decoder.invalidLines());
+        assertEquals(0, decoder.corruptFrames());
+    }
+}
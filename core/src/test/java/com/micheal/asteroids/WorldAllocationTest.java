@@ -0,0 +1,62 @@
+package com.micheal.asteroids;
+
+import com.sun.management.ThreadMXBean;
+import org.junit.Assume;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Steps a loaded world that cannot end, with every ship turning, thrusting and firing,
+ * and counts the bytes the test thread allocates. Once the entity arrays have grown to the
+ * working size a tick must allocate nothing.
+ */
+public class WorldAllocationTest {
+
+    private static final int PLAYERS = 4;
+    private static final int ASTEROIDS = 1000;
+    private static final int WARMUP_TICKS = 20_000;
+    private static final int MEASURED_TICKS = 20_000;
+    private static final float STEP = 1f / 120f;
+    // The JIT recompiling a hot method mid-run can charge about 1 KiB of its own work to this
+    // thread, once; the interpreter and C1 alone show nothing. Even the smallest object
+    // allocated once every fifty ticks would exceed it.
+    private static final long JIT_NOISE_BYTES = 4096;
+
+    @Test
+    public void steadyStateTickAllocatesNothing() {
+        ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        Assume.assumeTrue(threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled());
+        long thread = Thread.currentThread().getId();
+
+        World world = new World(42, PLAYERS, 1920f, 1080f, 32f, 32f, 2f);
+        world.setUnlimitedLives(true);
+        PlayerInput[] inputs = new PlayerInput[PLAYERS];
+        for (int p = 0; p < PLAYERS; p++) {
+            inputs[p] = new PlayerInput();
+            inputs[p].turn = 1f;
+            inputs[p].thrust = p % 2 == 0;
+            inputs[p].fire = true;
+        }
+
+        step(world, inputs, WARMUP_TICKS);
+        long before = threads.getThreadAllocatedBytes(thread);
+        step(world, inputs, MEASURED_TICKS);
+        long allocated = threads.getThreadAllocatedBytes(thread) - before;
+
+        assertFalse(world.isGameOver());
+        assertTrue("bytes allocated over " + MEASURED_TICKS + " ticks: " + allocated, allocated <= JIT_NOISE_BYTES);
+    }
+
+    /** Steps {@code ticks} times, replacing destroyed asteroids first so the load stays the same. */
+    private static void step(World world, PlayerInput[] inputs, int ticks) {
+        for (int t = 0; t < ticks; t++) {
+            int missing = ASTEROIDS - world.getAsteroids().size;
+            if (missing > 0) world.addAsteroids(missing);
+            world.step(inputs, STEP);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.micheal.asteroids.soak;
+
+import com.micheal.asteroids.AsteroidField;
+import com.micheal.asteroids.BulletField;
+import com.micheal.asteroids.SensorSample;
+import com.micheal.asteroids.SensorSource;
+import com.micheal.asteroids.Ship;
+import com.micheal.asteroids.World;
+
+/**
+ * Plays in place of the tilt controllers: each player's ship turns towards the nearest
+ * solid asteroid, leading it, and fires once it is roughly aimed. Turning is sent as roll
+ * readings through one {@link SensorSource} per player, exactly as a controller would;
+ * firing is read back by {@link AutopilotInput}. Decisions are made once per frame in
+ * {@link #update}.
+ */
+final class Autopilot {
+
+    // Well past GameScreen's 15 degree roll threshold
+    private static final float TILT = 30f;
+    // Degrees either side of the target within which the ship turns no further and fires
+    private static final float AIM_CONE = 6f;
+
+    private final float[] roll;
+    private final boolean[] fire;
+    private final Source[] sources;
+
+    Autopilot(int players) {
+        roll = new float[players];
+        fire = new boolean[players];
+        sources = new Source[players];
+        for (int p = 0; p < players; p++) sources[p] = new Source(p);
+    }
+
+    SensorSource[] sources() {
+        return sources.clone();
+    }
+
+    boolean isFiring(int player) {
+        return player < fire.length && fire[player];
+    }
+
+    /** Decides this frame's input from {@code world}, or holds still when there is no game. */
+    void update(World world) {
+        for (int p = 0; p < roll.length; p++) {
+            roll[p] = 0;
+            fire[p] = false;
+            if (world != null && p < world.getPlayerCount() && world.isPlaying(p)) aim(world, p);
+            sources[p].fresh = true;
+        }
+    }
+
+    private void aim(World world, int player) {
+        Ship ship = world.getShip(player);
+        AsteroidField asteroids = world.getAsteroids();
+        int nearest = -1;
+        float nearestDistance = Float.MAX_VALUE;
+        for (int i = 0; i < asteroids.size; i++) {
+            if (!asteroids.isSolid(i)) continue;
+            float dx = asteroids.x[i] - ship.x;
+            float dy = asteroids.y[i] - ship.y;
+            float distance = dx * dx + dy * dy;
+            if (distance < nearestDistance) {
+                nearestDistance = distance;
+                nearest = i;
+            }
+        }
+        if (nearest < 0) return;
+
+        // Lead the target by where it will be when a bullet gets there
+        float flightTime = (float) Math.sqrt(nearestDistance) / BulletField.SPEED;
+        float targetX = asteroids.x[nearest] + asteroids.vx[nearest] * flightTime;
+        float targetY = asteroids.y[nearest] + asteroids.vy[nearest] * flightTime;
+        // Ship angles are degrees with 0 facing up; atan2 measures from the x axis
+        float target = (float) Math.toDegrees(Math.atan2(targetY - ship.y, targetX - ship.x));
+        float error = wrapDegrees(target - (ship.angle + 90f));
+        if (error > AIM_CONE) roll[player] = TILT;
+        else if (error < -AIM_CONE) roll[player] = -TILT;
+        else fire[player] = true;
+    }
+
+    private static float wrapDegrees(float degrees) {
+        degrees %= 360f;
+        if (degrees >= 180f) degrees -= 360f;
+        else if (degrees < -180f) degrees += 360f;
+        return degrees;
+    }
+
+    /** Hands the game one reading per frame, like a controller that has just sent one. */
+    private final class Source implements SensorSource {
+
+        private final int player;
+        private boolean fresh;
+
+        Source(int player) {
+            this.player = player;
+        }
+
+        @Override
+        public boolean poll(SensorSample out) {
+            if (!fresh) return false;
+            fresh = false;
+            out.set(roll[player], 0, 0, System.nanoTime());
+            return true;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
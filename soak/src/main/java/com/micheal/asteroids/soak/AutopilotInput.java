@@ -0,0 +1,49 @@
+package com.micheal.asteroids.soak;
+
+import com.badlogic.gdx.Game;
+import com.badlogic.gdx.Input;
+import com.badlogic.gdx.backends.headless.mock.input.MockInput;
+import com.micheal.asteroids.GameOverScreen;
+import com.micheal.asteroids.GameScreen;
+import com.micheal.asteroids.MainMenuScreen;
+
+/**
+ * The keyboard, as the autopilot presses it: fire keys while playing, Enter on the main
+ * menu and Space on the game over screen once they have been shown for a moment, and
+ * nothing else.
+ */
+final class AutopilotInput extends MockInput {
+
+    private final Game game;
+    private final Autopilot autopilot;
+    private final int players;
+    private boolean pressMenuKey;
+
+    AutopilotInput(Game game, Autopilot autopilot, int players) {
+        this.game = game;
+        this.autopilot = autopilot;
+        this.players = players;
+    }
+
+    /** Lets the current menu's key be pressed this frame. */
+    void setPressMenuKey(boolean pressMenuKey) {
+        this.pressMenuKey = pressMenuKey;
+    }
+
+    @Override
+    public boolean isKeyPressed(int key) {
+        if (!(game.getScreen() instanceof GameScreen)) return false;
+        for (int p = 0; p < players; p++) {
+            if (key == GameScreen.fireKey(p)) return autopilot.isFiring(p);
+        }
+        return false;
+    }
+
+    @Override
+    public boolean isKeyJustPressed(int key) {
+        if (!pressMenuKey) return false;
+        if (game.getScreen() instanceof MainMenuScreen) return key == Input.Keys.ENTER;
+        if (game.getScreen() instanceof GameOverScreen) return key == Input.Keys.SPACE;
+        return false;
+    }
+}
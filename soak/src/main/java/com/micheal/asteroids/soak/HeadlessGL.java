@@ -0,0 +1,162 @@
+package com.micheal.asteroids.soak;
+
+import com.badlogic.gdx.graphics.GL20;
+import com.sun.management.ThreadMXBean;
+
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.IntBuffer;
+
+/**
+ * A {@link GL20} that draws nothing but answers the queries libGDX makes while creating
+ * shaders, textures and frame buffers as a working driver would, so the game's real
+ * rendering code runs on a machine without a GPU.
+ *
+ * Handles are counted per kind as they are generated and deleted, so a texture, buffer or
+ * shader that is never disposed shows up as a growing live count even though it holds
+ * almost no Java heap.
+ *
+ * Every call goes through a dynamic proxy, which boxes its arguments, so allocation over a
+ * whole frame is partly the harness's. The game thread's allocation count is noted at the
+ * first call of each frame: up to then the frame has only run game logic.
+ */
+final class HeadlessGL implements InvocationHandler {
+
+    /** Kinds of GL object counted, as used in the report. */
+    static final String[] KINDS = {"textures", "buffers", "framebuffers", "renderbuffers", "programs", "shaders"};
+    private static final int TEXTURE = 0, BUFFER = 1, FRAMEBUFFER = 2, RENDERBUFFER = 3, PROGRAM = 4, SHADER = 5;
+
+    private final GL20 gl;
+    private final ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+    private int nextHandle = 1;
+    private final int[] live = new int[KINDS.length];
+    private long allocatedAtFirstCall = -1;
+
+    HeadlessGL() {
+        gl = (GL20) Proxy.newProxyInstance(GL20.class.getClassLoader(), new Class<?>[] {GL20.class}, this);
+    }
+
+    GL20 gl() {
+        return gl;
+    }
+
+    /** Handles of {@code KINDS[kind]} generated and not yet deleted. */
+    int live(int kind) {
+        return live[kind];
+    }
+
+    /** Forgets the previous frame's first call. Call before rendering each frame. */
+    void beginFrame() {
+        allocatedAtFirstCall = -1;
+    }
+
+    /** Bytes the rendering thread had allocated at this frame's first GL call, or -1 if there was none. */
+    long allocatedAtFirstCall() {
+        return allocatedAtFirstCall;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) {
+        if (allocatedAtFirstCall < 0) allocatedAtFirstCall = threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+
+        String name = method.getName();
+        switch (name) {
+            case "glCheckFramebufferStatus":
+                return GL20.GL_FRAMEBUFFER_COMPLETE;
+            case "glGetShaderiv":
+            case "glGetProgramiv": {
+                // Shaders compile and link; they report no active attributes or uniforms
+                int pname = (Integer) args[1];
+                IntBuffer params = (IntBuffer) args[2];
+                params.put(params.position(), pname == GL20.GL_COMPILE_STATUS || pname == GL20.GL_LINK_STATUS ? 1 : 0);
+                return null;
+            }
+            case "glGetIntegerv": {
+                int pname = (Integer) args[0];
+                IntBuffer params = (IntBuffer) args[1];
+                params.put(params.position(), pname == GL20.GL_MAX_TEXTURE_SIZE ? 4096 : 0);
+                return null;
+            }
+
+            case "glGenTexture":
+                return generate(TEXTURE);
+            case "glGenBuffer":
+                return generate(BUFFER);
+            case "glGenFramebuffer":
+                return generate(FRAMEBUFFER);
+            case "glGenRenderbuffer":
+                return generate(RENDERBUFFER);
+            case "glCreateProgram":
+                return generate(PROGRAM);
+            case "glCreateShader":
+                return generate(SHADER);
+            case "glGenTextures":
+                return generate(TEXTURE, args);
+            case "glGenBuffers":
+                return generate(BUFFER, args);
+            case "glGenFramebuffers":
+                return generate(FRAMEBUFFER, args);
+            case "glGenRenderbuffers":
+                return generate(RENDERBUFFER, args);
+
+            case "glDeleteTexture":
+                return delete(TEXTURE, (Integer) args[0]);
+            case "glDeleteBuffer":
+                return delete(BUFFER, (Integer) args[0]);
+            case "glDeleteFramebuffer":
+                return delete(FRAMEBUFFER, (Integer) args[0]);
+            case "glDeleteRenderbuffer":
+                return delete(RENDERBUFFER, (Integer) args[0]);
+            case "glDeleteProgram":
+                return delete(PROGRAM, (Integer) args[0]);
+            case "glDeleteShader":
+                return delete(SHADER, (Integer) args[0]);
+            case "glDeleteTextures":
+                return delete(TEXTURE, args);
+            case "glDeleteBuffers":
+                return delete(BUFFER, args);
+            case "glDeleteFramebuffers":
+                return delete(FRAMEBUFFER, args);
+            case "glDeleteRenderbuffers":
+                return delete(RENDERBUFFER, args);
+            default:
+                break;
+        }
+        Class<?> type = method.getReturnType();
+        if (type == int.class) return 0;
+        if (type == boolean.class) return false;
+        if (type == float.class) return 0f;
+        if (type == String.class) return "";
+        return null;
+    }
+
+    /** A new non-zero handle, as glGen and glCreate calls must return. */
+    private Object generate(int kind) {
+        live[kind]++;
+        return nextHandle++;
+    }
+
+    /** Fills a glGen*s(n, buffer) call's buffer with new handles. */
+    private Object generate(int kind, Object[] args) {
+        int n = (Integer) args[0];
+        IntBuffer handles = (IntBuffer) args[1];
+        for (int i = 0; i < n; i++) handles.put(handles.position() + i, nextHandle++);
+        live[kind] += n;
+        return null;
+    }
+
+    private Object delete(int kind, int handle) {
+        // Deleting handle 0 is a no-op in GL
+        if (handle != 0) live[kind]--;
+        return null;
+    }
+
+    private Object delete(int kind, Object[] args) {
+        int n = (Integer) args[0];
+        IntBuffer handles = (IntBuffer) args[1];
+        for (int i = 0; i < n; i++) delete(kind, handles.get(handles.position() + i));
+        return null;
+    }
+}
@@ -0,0 +1,213 @@
+package com.micheal.asteroids.soak;
+
+import com.badlogic.gdx.ApplicationListener;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Screen;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+import com.badlogic.gdx.backends.headless.mock.graphics.MockGraphics;
+import com.badlogic.gdx.graphics.GL20;
+import com.micheal.asteroids.AsteroidsGame;
+import com.micheal.asteroids.GameScreen;
+import com.micheal.asteroids.World;
+
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Soak test: runs the real {@link AsteroidsGame} on the headless backend, with no GPU and
+ * no serial device, through the main menu and then game after game played by an
+ * {@link Autopilot}, as fast as the CPU allows. Every frame advances the game by a fixed
+ * 1/60 s, so hours of game time pass in minutes. Each wave's frame times, allocation, GC
+ * activity and live GL objects are written to a CSV report, and the process exits with
+ * status 1 if any threshold was exceeded or more GL objects are live at the end than when
+ * the first game started.
+ *
+ * Settings, as system properties:
+ * <ul>
+ * <li>{@code soak.gameHours} game time to play (default 1)</li>
+ * <li>{@code soak.players} autopilot players (default 1)</li>
+ * <li>{@code soak.report} CSV file (default soak-report.csv; the Gradle run task uses soak/build/reports)</li>
+ * <li>{@code soak.maxFrameP99Millis} per wave (default 16.7)</li>
+ * <li>{@code soak.maxAllocBytesPerFrame} by game logic, per wave (default 1024)</li>
+ * <li>{@code soak.maxGcPauseMillis} (default 50)</li>
+ * <li>{@code soak.maxHeapGrowthMb} live heap growth over the whole run (default 32)</li>
+ * </ul>
+ * A threshold of 0 turns that check off.
+ */
+public class SoakRunner {
+
+    private static final float FRAME_DELTA = 1f / 60f;
+    // Frames a menu stays up before the autopilot presses its key, so menus get rendered too
+    private static final int MENU_FRAMES = 30;
+
+    public static void main(String[] args) throws Exception {
+        double gameHours = Double.parseDouble(System.getProperty("soak.gameHours", "1"));
+        int players = Integer.getInteger("soak.players", 1);
+        // The game reads these when it starts; the soak test never wants log files or real devices
+        System.setProperty("asteroids.eventLog", "");
+        System.setProperty("asteroids.players", Integer.toString(players));
+
+        SoakListener listener = new SoakListener(gameHours * 3600.0, players);
+        HeadlessApplicationConfiguration config = new HeadlessApplicationConfiguration();
+        config.updatesPerSecond = 0; // As fast as possible
+        new HeadlessApplication(listener, config);
+        listener.finished.await();
+
+        List<String> failures = listener.failures;
+        if (failures == null) {
+            System.err.println("Soak test did not finish");
+            System.exit(1);
+        }
+        for (String failure : failures) System.err.println("FAIL " + failure);
+        System.out.println(failures.isEmpty() ? "Soak test passed" : "Soak test failed: " + failures.size() + " threshold(s) exceeded");
+        System.exit(failures.isEmpty() ? 0 : 1);
+    }
+
+    /** Wraps the game: swaps in the headless GL, fixed frame time and autopilot, and records every frame. */
+    private static final class SoakListener implements ApplicationListener {
+
+        private final double gameSeconds;
+        private final int players;
+        private final AsteroidsGame game = new AsteroidsGame();
+        private final Autopilot autopilot;
+        final CountDownLatch finished = new CountDownLatch(1);
+        volatile List<String> failures;
+
+        private HeadlessGL headlessGl;
+        private SoakStats stats;
+        private AutopilotInput input;
+        private double elapsed;
+        private Screen screen;
+        private int screenFrames;
+        private World world;
+        private int games, wave;
+
+        SoakListener(double gameSeconds, int players) {
+            this.gameSeconds = gameSeconds;
+            this.players = players;
+            autopilot = new Autopilot(players);
+        }
+
+        @Override
+        public void create() {
+            headlessGl = new HeadlessGL();
+            GL20 gl = headlessGl.gl();
+            Gdx.gl = gl;
+            Gdx.gl20 = gl;
+            Gdx.graphics = new FixedStepGraphics(gl);
+            input = new AutopilotInput(game, autopilot, players);
+            Gdx.input = input;
+            try {
+                stats = new SoakStats(Paths.get(System.getProperty("soak.report", "soak-report.csv")), headlessGl,
+                    Double.parseDouble(System.getProperty("soak.maxFrameP99Millis", "16.7")),
+                    Double.parseDouble(System.getProperty("soak.maxAllocBytesPerFrame", "1024")),
+                    Double.parseDouble(System.getProperty("soak.maxGcPauseMillis", "50")),
+                    Double.parseDouble(System.getProperty("soak.maxHeapGrowthMb", "32")));
+            } catch (Exception e) {
+                throw new IllegalStateException("Cannot write soak report", e);
+            }
+
+            game.setSensors(autopilot.sources());
+            game.create();
+            game.resize((int) AsteroidsGame.WORLD_WIDTH, (int) AsteroidsGame.WORLD_HEIGHT);
+        }
+
+        @Override
+        public void render() {
+            Screen current = game.getScreen();
+            screenFrames = current == screen ? screenFrames + 1 : 0;
+            screen = current;
+            input.setPressMenuKey(screenFrames >= MENU_FRAMES);
+            World playing = current instanceof GameScreen ? ((GameScreen) current).getWorld() : null;
+            trackWave(playing);
+            autopilot.update(playing);
+
+            stats.beginFrame();
+            long start = System.nanoTime();
+            game.render();
+            // Loading and the first menu are startup, not steady state, so recording starts with the first game
+            if (games > 0) stats.endFrame(System.nanoTime() - start, game.getScreen() != current);
+
+            elapsed += FRAME_DELTA;
+            if (elapsed >= gameSeconds) Gdx.app.exit();
+        }
+
+        /** Starts a new report row whenever a new game or wave begins. */
+        private void trackWave(World playing) {
+            if (playing == null || (playing == world && playing.getWave() == wave)) return;
+            if (playing != world) {
+                if (games == 0) stats.markBaseline();
+                games++;
+                world = playing;
+            }
+            wave = playing.getWave();
+            stats.startWave(games, wave, elapsed);
+        }
+
+        @Override
+        public void resize(int width, int height) {
+        }
+
+        @Override
+        public void pause() {
+        }
+
+        @Override
+        public void resume() {
+        }
+
+        @Override
+        public void dispose() {
+            try {
+                // Checked before disposing, so what dispose frees cannot hide growth during the run
+                failures = stats.finish(elapsed);
+                game.dispose();
+                System.out.printf("Played %.1f game hours, %d games%n", elapsed / 3600.0, games);
+            } finally {
+                finished.countDown();
+            }
+        }
+    }
+
+    /** Reports a fixed frame time and the full world size, whatever the wall clock says. */
+    private static final class FixedStepGraphics extends MockGraphics {
+
+        private final GL20 gl;
+
+        FixedStepGraphics(GL20 gl) {
+            this.gl = gl;
+        }
+
+        @Override
+        public float getDeltaTime() {
+            return FRAME_DELTA;
+        }
+
+        @Override
+        public GL20 getGL20() {
+            return gl;
+        }
+
+        @Override
+        public int getWidth() {
+            return (int) AsteroidsGame.WORLD_WIDTH;
+        }
+
+        @Override
+        public int getHeight() {
+            return (int) AsteroidsGame.WORLD_HEIGHT;
+        }
+
+        @Override
+        public int getBackBufferWidth() {
+            return getWidth();
+        }
+
+        @Override
+        public int getBackBufferHeight() {
+            return getHeight();
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package com.micheal.asteroids.soak;
+
+import com.micheal.asteroids.LatencyHistogram;
+import com.sun.management.GarbageCollectionNotificationInfo;
+import com.sun.management.ThreadMXBean;
+
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Frame times, allocation, garbage collection and live GL objects for each wave of each
+ * game, written as one CSV row per wave and checked against the thresholds in
+ * {@link SoakRunner}.
+ *
+ * Allocation is counted on the game thread, where every frame is rendered and stepped. The
+ * whole frame's allocation is reported, but only the game logic's is checked: the bytes
+ * allocated before the frame's first GL call, which excludes the {@link HeadlessGL} proxy's
+ * boxing. Frames that switch screens build the next screen, so their logic is not checked.
+ *
+ * GC pauses and heap after GC come from the JVM's collection notifications; concurrent
+ * collector cycles are not pauses and are skipped. Leaks are caught by comparing the heap
+ * after a full collection, and the live GL objects, when the first game starts with the
+ * same at the end of the run.
+ */
+final class SoakStats implements NotificationListener {
+
+    private static final double MB = 1024.0 * 1024.0;
+
+    private final PrintWriter report;
+    private final HeadlessGL gl;
+    private final ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+    private final long gameThread = Thread.currentThread().getId();
+    private final Set<String> heapPools = new HashSet<>();
+    private final List<String> failures = new ArrayList<>();
+
+    // Thresholds; zero or less turns one off
+    private final double maxFrameP99Millis;
+    private final double maxAllocBytesPerFrame;
+    private final double maxGcPauseMillis;
+    private final double maxHeapGrowthMb;
+
+    // The wave being recorded
+    private int game, wave;
+    private long frames;
+    private final LatencyHistogram frameTimes = new LatencyHistogram();
+    private long allocatedAtStart;
+    private double gameSecondsAtStart;
+    private long logicFrames, logicAllocated;
+    private long allocatedAtFrameStart;
+
+    // Written by the notification thread
+    private int gcCount;
+    private long gcMaxPauseMillis;
+    private long heapAfterGc = -1;
+
+    private long baselineHeap = -1;
+    private final int[] baselineLive = new int[HeadlessGL.KINDS.length];
+
+    SoakStats(Path reportFile, HeadlessGL gl, double maxFrameP99Millis, double maxAllocBytesPerFrame,
+              double maxGcPauseMillis, double maxHeapGrowthMb) throws IOException {
+        this.gl = gl;
+        this.maxFrameP99Millis = maxFrameP99Millis;
+        this.maxAllocBytesPerFrame = maxAllocBytesPerFrame;
+        this.maxGcPauseMillis = maxGcPauseMillis;
+        this.maxHeapGrowthMb = maxHeapGrowthMb;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) heapPools.add(pool.getName());
+        }
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            if (collector instanceof NotificationEmitter) {
+                ((NotificationEmitter) collector).addNotificationListener(this, null, null);
+            }
+        }
+        report = new PrintWriter(Files.newBufferedWriter(reportFile, StandardCharsets.UTF_8));
+        StringBuilder header = new StringBuilder("game,wave,frames,game_seconds,frame_mean_ms,frame_p99_ms,frame_max_ms,"
+            + "alloc_bytes_per_frame,logic_alloc_bytes_per_frame,gc_count,gc_max_pause_ms,heap_after_gc_mb");
+        for (String kind : HeadlessGL.KINDS) header.append(",live_").append(kind);
+        report.println(header);
+    }
+
+    /** Starts recording wave {@code wave} of game {@code game}, finishing the previous wave's row. */
+    void startWave(int game, int wave, double gameSeconds) {
+        finishWave(gameSeconds);
+        this.game = game;
+        this.wave = wave;
+        gameSecondsAtStart = gameSeconds;
+        allocatedAtStart = threads.getThreadAllocatedBytes(gameThread);
+        synchronized (this) {
+            gcCount = 0;
+            gcMaxPauseMillis = 0;
+        }
+    }
+
+    /** Records the live heap and GL objects to measure growth from. Call once the first game has started. */
+    void markBaseline() {
+        baselineHeap = liveHeap();
+        for (int kind = 0; kind < baselineLive.length; kind++) baselineLive[kind] = gl.live(kind);
+    }
+
+    /** Call before rendering each frame. */
+    void beginFrame() {
+        gl.beginFrame();
+        allocatedAtFrameStart = threads.getThreadAllocatedBytes(gameThread);
+    }
+
+    /** Records a rendered frame; {@code switchedScreen} frames are left out of the logic allocation. */
+    void endFrame(long nanos, boolean switchedScreen) {
+        frames++;
+        frameTimes.record(nanos);
+        if (switchedScreen) return;
+        long logicEnd = gl.allocatedAtFirstCall();
+        if (logicEnd < 0) logicEnd = threads.getThreadAllocatedBytes(gameThread);
+        logicAllocated += logicEnd - allocatedAtFrameStart;
+        logicFrames++;
+    }
+
+    /**
+     * Writes the last row and returns every threshold that was exceeded. Call while the game
+     * is still running, so what disposing it frees cannot hide growth during the run.
+     */
+    List<String> finish(double gameSeconds) {
+        finishWave(gameSeconds);
+        report.close();
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            try {
+                if (collector instanceof NotificationEmitter) ((NotificationEmitter) collector).removeNotificationListener(this);
+            } catch (Exception ignored) {}
+        }
+        if (maxHeapGrowthMb > 0 && baselineHeap >= 0) {
+            double growth = (liveHeap() - baselineHeap) / MB;
+            if (growth > maxHeapGrowthMb) {
+                failures.add(String.format("heap after GC grew %.1f MB over the run (limit %.1f MB)", growth, maxHeapGrowthMb));
+            }
+        }
+        if (baselineHeap >= 0) {
+            for (int kind = 0; kind < baselineLive.length; kind++) {
+                if (gl.live(kind) > baselineLive[kind]) {
+                    failures.add(String.format("%d live GL %s at the end of the run, %d when the first game started",
+                        gl.live(kind), HeadlessGL.KINDS[kind], baselineLive[kind]));
+                }
+            }
+        }
+        return failures;
+    }
+
+    private void finishWave(double gameSeconds) {
+        if (frames == 0) return;
+        long allocated = threads.getThreadAllocatedBytes(gameThread) - allocatedAtStart;
+        int count;
+        long maxPause, heap;
+        synchronized (this) {
+            count = gcCount;
+            maxPause = gcMaxPauseMillis;
+            heap = heapAfterGc;
+        }
+        double meanMillis = frameTimes.mean() / 1e6;
+        double p99Millis = frameTimes.percentile(99) / 1e6;
+        double maxMillis = frameTimes.max() / 1e6;
+        double allocPerFrame = (double) allocated / frames;
+        double logicAllocPerFrame = logicFrames == 0 ? 0 : (double) logicAllocated / logicFrames;
+        report.printf("%d,%d,%d,%.1f,%.3f,%.3f,%.3f,%.0f,%.0f,%d,%d,%.1f", game, wave, frames, gameSeconds - gameSecondsAtStart,
+            meanMillis, p99Millis, maxMillis, allocPerFrame, logicAllocPerFrame, count, maxPause, heap < 0 ? 0 : heap / MB);
+        for (int kind = 0; kind < HeadlessGL.KINDS.length; kind++) report.print("," + gl.live(kind));
+        report.println();
+        report.flush();
+
+        String where = "game " + game + " wave " + wave + ": ";
+        if (maxFrameP99Millis > 0 && p99Millis > maxFrameP99Millis) {
+            failures.add(String.format("%sp99 frame %.2f ms (limit %.2f ms)", where, p99Millis, maxFrameP99Millis));
+        }
+        if (maxAllocBytesPerFrame > 0 && logicAllocPerFrame > maxAllocBytesPerFrame) {
+            failures.add(String.format("%s%.0f bytes allocated per frame by game logic (limit %.0f)",
+                where, logicAllocPerFrame, maxAllocBytesPerFrame));
+        }
+        if (maxGcPauseMillis > 0 && maxPause > maxGcPauseMillis) {
+            failures.add(String.format("%sGC pause %d ms (limit %.0f ms)", where, maxPause, maxGcPauseMillis));
+        }
+        frames = 0;
+        logicFrames = 0;
+        logicAllocated = 0;
+        frameTimes.reset();
+    }
+
+    @Override
+    public void handleNotification(Notification notification, Object handback) {
+        if (!GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(notification.getType())) return;
+        GarbageCollectionNotificationInfo info = GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData());
+        // ZGC and Shenandoah report whole concurrent cycles on their "... Cycles" beans and the
+        // pauses within them separately. G1's Remark and Cleanup are real pauses even though their
+        // action says "end of concurrent GC pause". The harness's own full collections are not the game's
+        if (info.getGcName().endsWith("Cycles") || "System.gc()".equals(info.getGcCause())) return;
+
+        long heap = 0;
+        for (Map.Entry<String, MemoryUsage> pool : info.getGcInfo().getMemoryUsageAfterGc().entrySet()) {
+            if (heapPools.contains(pool.getKey())) heap += pool.getValue().getUsed();
+        }
+        synchronized (this) {
+            gcCount++;
+            gcMaxPauseMillis = Math.max(gcMaxPauseMillis, info.getGcInfo().getDuration());
+            heapAfterGc = heap;
+        }
+    }
+
+    /** Heap in use after a full collection. */
+    private static long liveHeap() {
+        System.gc();
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+}